@@ -1,3 +1,7 @@
+-- 数据库初始化脚本（基线表结构，与 V1__baseline.sql 相同）
+-- 之后的表结构变更只通过后端的 Flyway 迁移脚本（tool-dashboard-backend/src/main/resources/db/migration）发布，
+-- 后端启动时自动执行；由本脚本初始化、尚无迁移记录的数据库会被视为 V1 基线，再依次执行后续版本
+
 -- 创建数据库
 CREATE DATABASE IF NOT EXISTS `tool_dashboard` DEFAULT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
 
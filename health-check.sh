@@ -91,12 +91,17 @@ fi
 # 4. 检查后端API
 echo ""
 echo "🔌 [4/6] 检查后端API..."
-BACKEND_URL="http://localhost:${BACKEND_PORT:-8080}/api/actuator/health"
-RESPONSE=$(curl -s -o /dev/null -w "%{http_code}" "$BACKEND_URL" 2>/dev/null)
+BACKEND_URL="http://localhost:${BACKEND_PORT:-8080}/api/actuator/health/readiness"
+BODY=$(curl -s -w "\n%{http_code} %{time_total}" "$BACKEND_URL" 2>/dev/null)
+read -r RESPONSE RESPONSE_TIME <<< "$(echo "$BODY" | tail -1)"
 if [ "$RESPONSE" = "200" ]; then
-  # 获取API响应时间
-  RESPONSE_TIME=$(curl -s -o /dev/null -w "%{time_total}" "$BACKEND_URL" 2>/dev/null)
   print_ok "后端API响应正常 (${RESPONSE_TIME}s)"
+elif [ "$RESPONSE" = "503" ]; then
+  # 上传磁盘空间不足、写入或数据库延迟过高等，详情见各检查项的 error
+  print_fail "后端未就绪 (HTTP 503)"
+  echo "$BODY" | sed '$d'
+  echo ""
+  ALL_HEALTHY=false
 else
   print_fail "后端API响应异常 (HTTP $RESPONSE)"
   ALL_HEALTHY=false
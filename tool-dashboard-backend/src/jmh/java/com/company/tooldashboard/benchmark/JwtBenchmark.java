@@ -0,0 +1,63 @@
+package com.company.tooldashboard.benchmark;
+
+import com.company.tooldashboard.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 基准测试：生成token、解析token（命中已验证缓存 / 每次验签）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgs = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jmh-only-must-be-at-least-256-bits-long";
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil verifyingJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = newJwtUtil(1024);
+        // 缓存容量为0，每次解析都完整验签
+        verifyingJwtUtil = newJwtUtil(0);
+        token = cachingJwtUtil.generateToken("admin");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtil.generateToken("admin");
+    }
+
+    @Benchmark
+    public Claims parseCached() {
+        return cachingJwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseVerify() {
+        return verifyingJwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public String digest() {
+        return JwtUtil.digest(token);
+    }
+
+    private static JwtUtil newJwtUtil(int verifiedCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.tooldashboard.benchmark;
+
+import com.company.tooldashboard.common.Result;
+import com.company.tooldashboard.entity.ToolFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一返回结果 JSON 序列化基准测试（与 Spring MVC 使用相同的 ObjectMapper 配置方式）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgs = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class ResultSerializationBenchmark {
+
+    /**
+     * 一页文件列表的条数
+     */
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private Result<Void> emptyResult;
+    private Result<List<ToolFile>> fileListResult;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        emptyResult = Result.success();
+
+        LocalDateTime createTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<ToolFile> files = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ToolFile file = new ToolFile();
+            file.setId((long) i);
+            file.setToolId(1L);
+            file.setFileName("tool-installer-" + i + ".zip");
+            file.setOriginalName("工具安装包 " + i + ".zip");
+            file.setFilePath("platform/tool/1.0." + i + "/linux_x64/tool-installer-" + i + ".zip");
+            file.setFileSize(1024L * 1024 * (i + 1));
+            file.setFileType("application/zip");
+            file.setVersion("1.0." + i);
+            file.setArchitecture("linux_x64");
+            file.setDownloadCount(i * 10);
+            file.setDescription("第 " + i + " 个版本的安装包");
+            file.setUploader("admin");
+            file.setCreateTime(createTime.plusDays(i));
+            file.setUpdateTime(createTime.plusDays(i));
+            file.setDownloadUrl("/api/files/download/" + i);
+            file.setDownloadUrlByPath("/api/files/download-by-path/" + file.getFilePath());
+            files.add(file);
+        }
+        fileListResult = Result.success(files);
+    }
+
+    @Benchmark
+    public byte[] serializeEmpty() throws Exception {
+        return objectMapper.writeValueAsBytes(emptyResult);
+    }
+
+    @Benchmark
+    public byte[] serializeFileList() throws Exception {
+        return objectMapper.writeValueAsBytes(fileListResult);
+    }
+}
@@ -0,0 +1,106 @@
+package com.company.tooldashboard.benchmark;
+
+import com.company.tooldashboard.service.ToolVersionIndex;
+import com.company.tooldashboard.util.SemanticVersionUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 语义化版本基准测试：版本号校验、比较，以及工具版本列表的排序
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgs = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Thread)
+public class SemanticVersionBenchmark {
+
+    private static final int SAMPLE_SIZE = 1024;
+
+    /**
+     * 单个工具的文件数
+     */
+    private static final int FILES_PER_TOOL = 200;
+
+    private static final Long TOOL_ID = 1L;
+
+    private String[] versions;
+    private String[] invalidVersions;
+    private ToolVersionIndex toolVersionIndex;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        versions = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            versions[i] = randomVersion(random);
+        }
+        invalidVersions = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            invalidVersions[i] = random.nextInt(10) + "." + random.nextInt(20) + (i % 2 == 0 ? ".x" : "-");
+        }
+
+        // 从空索引开始（不访问数据库），只包含一个工具的文件版本
+        toolVersionIndex = new ToolVersionIndex();
+        ReflectionTestUtils.setField(toolVersionIndex, "index", new ConcurrentHashMap<>());
+        for (int i = 0; i < FILES_PER_TOOL; i++) {
+            toolVersionIndex.addFile(TOOL_ID, (long) i, versions[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean isValidSemanticVersion() {
+        return SemanticVersionUtil.isValidSemanticVersion(next(versions));
+    }
+
+    @Benchmark
+    public boolean isValidSemanticVersionInvalid() {
+        return SemanticVersionUtil.isValidSemanticVersion(next(invalidVersions));
+    }
+
+    @Benchmark
+    public int compareVersions() {
+        return SemanticVersionUtil.compareVersions(next(versions), next(versions));
+    }
+
+    /**
+     * 获取工具的全部版本（getAllVersions 的读取路径）
+     */
+    @Benchmark
+    public List<String> getVersions() {
+        return toolVersionIndex.getVersions(TOOL_ID);
+    }
+
+    /**
+     * 上传文件后更新版本索引（对该工具的全部版本重新排序、去重）
+     */
+    @Benchmark
+    public String addFileAndSort() {
+        int fileId = cursor % FILES_PER_TOOL;
+        toolVersionIndex.addFile(TOOL_ID, (long) fileId, next(versions));
+        return toolVersionIndex.getLatestVersion(TOOL_ID);
+    }
+
+    private String next(String[] samples) {
+        return samples[cursor++ & (SAMPLE_SIZE - 1)];
+    }
+
+    private static String randomVersion(Random random) {
+        String version = random.nextInt(5) + "." + random.nextInt(20) + "." + random.nextInt(50);
+        switch (random.nextInt(4)) {
+            case 0:
+                return version + "-alpha." + random.nextInt(10);
+            case 1:
+                return version + "-rc." + random.nextInt(5) + "+build." + random.nextInt(1000);
+            default:
+                return version;
+        }
+    }
+}
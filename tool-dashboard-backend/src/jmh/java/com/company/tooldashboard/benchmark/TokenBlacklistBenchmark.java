@@ -0,0 +1,79 @@
+package com.company.tooldashboard.benchmark;
+
+import com.company.tooldashboard.service.TokenBlacklistService;
+import com.company.tooldashboard.service.impl.MemoryTokenRevocationStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token黑名单基准测试：多线程并发检查，以及检查与登出（写入）混合时的竞争
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgs = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class TokenBlacklistBenchmark {
+
+    /**
+     * 预先加入黑名单的token数
+     */
+    private static final int REVOKED_TOKENS = 10000;
+
+    /**
+     * 写入时循环使用的token数（不超过黑名单上限，避免登出被拒绝）
+     */
+    private static final int WRITE_TOKENS = 50000;
+
+    private TokenBlacklistService tokenBlacklistService;
+    private String[] tokens;
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        tokenBlacklistService = new TokenBlacklistService();
+        ReflectionTestUtils.setField(tokenBlacklistService, "tokenRevocationStore",
+                new MemoryTokenRevocationStore(100000));
+
+        long expirationTime = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        tokens = new String[REVOKED_TOKENS * 2];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = "eyJhbGciOiJIUzI1NiJ9.benchmark-token-" + i + ".signature";
+            // 一半已加入黑名单，一半未加入
+            if (i % 2 == 0) {
+                tokenBlacklistService.addToBlacklist(tokens[i], expirationTime);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+        int next;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean checkOnly(ThreadCursor cursor) {
+        return tokenBlacklistService.isBlacklisted(tokens[(cursor.next++ & Integer.MAX_VALUE) % tokens.length]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public boolean mixedCheck(ThreadCursor cursor) {
+        return tokenBlacklistService.isBlacklisted(tokens[(cursor.next++ & Integer.MAX_VALUE) % tokens.length]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedRevoke() {
+        long sequence = writeSequence.getAndIncrement() % WRITE_TOKENS;
+        tokenBlacklistService.addToBlacklist("eyJhbGciOiJIUzI1NiJ9.logout-" + sequence + ".signature",
+                System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+    }
+}
@@ -0,0 +1,273 @@
+package com.company.tooldashboard.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * 压测用HTTP客户端
+ * 接口调用失败（非2xx状态码，或统一返回结果的 code 不是200）时抛出 IllegalStateException
+ */
+public class ApiClient {
+
+    /**
+     * Result 序列化后以 code 字段开头，按前缀判断是否成功，压测时不必完整解析响应
+     */
+    private static final String SUCCESS_PREFIX = "{\"code\":200";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl;
+
+    private volatile String token;
+
+    public ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * 管理员登录，之后的请求携带 token
+     */
+    public void login(String username, String password) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", password));
+        JsonNode data = postJson("/auth/login", body);
+        token = data.path("token").asText();
+    }
+
+    /**
+     * GET 请求，返回响应体字节数
+     */
+    public long get(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(newRequest(path).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        checkResult(path, response.statusCode(), new String(response.body(), StandardCharsets.UTF_8));
+        return response.body().length;
+    }
+
+    /**
+     * GET 请求，返回统一返回结果中的 data
+     */
+    public JsonNode getData(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(newRequest(path).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        return parseData(path, response);
+    }
+
+    /**
+     * POST JSON 请求体，返回统一返回结果中的 data
+     */
+    public JsonNode postJson(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = newRequest(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return parseData(path, httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    /**
+     * POST 表单参数（无请求体），返回统一返回结果中的 data
+     */
+    public JsonNode postParams(String path, Map<String, String> params) throws IOException, InterruptedException {
+        HttpRequest request = newRequest(path + "?" + encodeQuery(params))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return parseData(path, httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    /**
+     * PUT 原始字节请求体（分片上传），返回统一返回结果中的 data
+     */
+    public JsonNode putBytes(String path, byte[] content, int length) throws IOException, InterruptedException {
+        HttpRequest request = newRequest(path)
+                .header("Content-Type", "application/octet-stream")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(content, 0, length))
+                .build();
+        return parseData(path, httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    /**
+     * PUT 按指定速率发送的请求体（模拟慢速客户端的分片上传），内容全部为0，返回统一返回结果中的 data
+     */
+    public JsonNode putSlowly(String path, long length, long bytesPerSecond) throws IOException, InterruptedException {
+        HttpRequest request = newRequest(path)
+                .header("Content-Type", "application/octet-stream")
+                .PUT(HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofInputStream(
+                        () -> new ThrottledInputStream(length, bytesPerSecond)), length))
+                .build();
+        return parseData(path, httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    /**
+     * DELETE 请求
+     */
+    public void delete(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(newRequest(path).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+        checkResult(path, response.statusCode(), response.body());
+    }
+
+    /**
+     * multipart/form-data 上传单个文件，返回统一返回结果中的 data
+     */
+    public JsonNode upload(String path, Map<String, String> params, String fileName, byte[] content)
+            throws IOException, InterruptedException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        StringBuilder head = new StringBuilder();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            head.append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(param.getKey()).append("\"\r\n\r\n")
+                .append(param.getValue()).append("\r\n");
+        }
+        head.append("--").append(boundary).append("\r\n")
+            .append("Content-Disposition: form-data; name=\"file\"; filename=\"").append(fileName).append("\"\r\n")
+            .append("Content-Type: application/octet-stream\r\n\r\n");
+        String tail = "\r\n--" + boundary + "--\r\n";
+
+        HttpRequest request = newRequest(path)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofString(head.toString()),
+                        HttpRequest.BodyPublishers.ofByteArray(content),
+                        HttpRequest.BodyPublishers.ofString(tail)))
+                .build();
+        return parseData(path, httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    /**
+     * 下载文件并丢弃内容，返回接收的字节数
+     */
+    public long download(String path) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(newRequest(path).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        long total = 0;
+        try (InputStream input = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(path + " 返回状态码 " + response.statusCode());
+            }
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) >= 0) {
+                total += read;
+            }
+        }
+        long expected = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        if (expected >= 0 && total != expected) {
+            throw new IllegalStateException(path + " 下载不完整，已接收 " + total + " / " + expected + " 字节");
+        }
+        return total;
+    }
+
+    public String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String encodeQuery(Map<String, String> params) {
+        StringJoiner query = new StringJoiner("&");
+        params.forEach((name, value) -> query.add(encode(name) + "=" + encode(value)));
+        return query.toString();
+    }
+
+    private HttpRequest.Builder newRequest(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofMinutes(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode parseData(String path, HttpResponse<String> response) throws IOException {
+        checkResult(path, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).path("data");
+    }
+
+    private static void checkResult(String path, int statusCode, String body) {
+        if (statusCode < 200 || statusCode >= 300) {
+            throw new IllegalStateException(path + " 返回状态码 " + statusCode);
+        }
+        if (!body.startsWith(SUCCESS_PREFIX)) {
+            throw new IllegalStateException(path + " 返回失败: " + abbreviate(body));
+        }
+    }
+
+    private static String abbreviate(String body) {
+        return body.length() > 200 ? body.substring(0, 200) + "..." : body;
+    }
+
+    /**
+     * 限速输入流：每次最多返回0.1秒的数据量，读得过快时等待
+     */
+    private static class ThrottledInputStream extends InputStream {
+
+        private final long length;
+
+        private final long bytesPerSecond;
+
+        private final long start = System.nanoTime();
+
+        private long sent;
+
+        ThrottledInputStream(long length, long bytesPerSecond) {
+            this.length = length;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int len) throws IOException {
+            if (sent >= length) {
+                return -1;
+            }
+            long due = start + sent * 1_000_000_000L / bytesPerSecond;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("限速发送被中断");
+                }
+            }
+            int count = (int) Math.min(Math.min(len, length - sent), Math.max(bytesPerSecond / 10, 1));
+            Arrays.fill(buffer, offset, offset + count, (byte) 0);
+            sent += count;
+            return count;
+        }
+    }
+}
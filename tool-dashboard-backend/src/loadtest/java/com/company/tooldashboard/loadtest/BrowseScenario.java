@@ -0,0 +1,30 @@
+package com.company.tooldashboard.loadtest;
+
+import java.util.Random;
+
+/**
+ * 浏览看板：打开首页（分组工具列表），再随机查看一个工具的文件、历史版本和变更日志
+ */
+public class BrowseScenario implements Scenario {
+
+    private final ApiClient client;
+
+    private final Fixture fixture;
+
+    public BrowseScenario(ApiClient client, Fixture fixture) {
+        this.client = client;
+        this.fixture = fixture;
+    }
+
+    @Override
+    public void iterate(Recorder recorder, Random random) throws InterruptedException {
+        recorder.record("GET /tools/groups", () -> client.get("/tools/groups"));
+
+        int index = random.nextInt(fixture.getToolIds().size());
+        long toolId = fixture.getToolIds().get(index);
+        String toolName = ApiClient.encode(fixture.getToolNames().get(index));
+        recorder.record("GET /files/tool/{id}", () -> client.get("/files/tool/" + toolId));
+        recorder.record("GET /tools/versions", () -> client.get("/tools/versions?toolName=" + toolName));
+        recorder.record("GET /changelogs/tool/{id}", () -> client.get("/changelogs/tool/" + toolId));
+    }
+}
@@ -0,0 +1,24 @@
+package com.company.tooldashboard.loadtest;
+
+import java.util.Random;
+
+/**
+ * 大文件下载：完整下载分片上传写入的大文件，统计下载耗时与吞吐量
+ */
+public class DownloadScenario implements Scenario {
+
+    private final ApiClient client;
+
+    private final Fixture fixture;
+
+    public DownloadScenario(ApiClient client, Fixture fixture) {
+        this.client = client;
+        this.fixture = fixture;
+    }
+
+    @Override
+    public void iterate(Recorder recorder, Random random) throws InterruptedException {
+        String path = "/files/download/" + fixture.getLargeFileId();
+        recorder.record("GET /files/download/{id}", () -> client.download(path));
+    }
+}
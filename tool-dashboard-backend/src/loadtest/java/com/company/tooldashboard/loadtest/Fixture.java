@@ -0,0 +1,214 @@
+package com.company.tooldashboard.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * 压测数据
+ * 通过管理接口写入测试工具、文件、变更日志以及下载场景使用的大文件；
+ * 数据已存在时直接复用，可重复对同一实例执行压测
+ */
+public class Fixture {
+
+    private static final Logger logger = LoggerFactory.getLogger(Fixture.class);
+
+    private static final String TOOL_PREFIX = "loadtest-tool-";
+    private static final String DOWNLOAD_TOOL = "loadtest-download";
+    private static final String UPLOAD_TOOL = "loadtest-upload";
+    private static final String[] TOOL_TYPES = {"开发工具", "测试工具", "运维工具", "平台"};
+
+    private static final int SMALL_FILE_SIZE = 16 * 1024;
+
+    private final List<Long> toolIds = new ArrayList<>();
+    private final List<String> toolNames = new ArrayList<>();
+    private long largeFileId;
+    private long uploadToolId;
+    private String slowSessionId;
+
+    public static Fixture prepare(ApiClient client, LoadTestOptions options) throws IOException, InterruptedException {
+        Fixture fixture = new Fixture();
+        Random random = new Random(42);
+
+        Map<String, Long> tools = ensureTools(client, options);
+        for (int i = 0; i < options.tools; i++) {
+            String name = TOOL_PREFIX + i;
+            long toolId = tools.get(name);
+            ensureFiles(client, toolId, i, options.filesPerTool, random);
+            ensureChangeLogs(client, toolId, options.logsPerTool);
+            fixture.toolIds.add(toolId);
+            fixture.toolNames.add(name);
+        }
+        fixture.uploadToolId = tools.get(UPLOAD_TOOL);
+        if (options.scenarios.contains("download")) {
+            fixture.largeFileId = ensureLargeFile(client, tools.get(DOWNLOAD_TOOL), options);
+        }
+        if (options.scenarios.contains("slow-upload")) {
+            fixture.slowSessionId = createSlowSession(client, fixture.uploadToolId, options);
+        }
+        logger.info("压测数据就绪 - 工具: {}, 每个工具文件: {}, 变更日志: {}",
+                options.tools, options.filesPerTool, options.logsPerTool);
+        return fixture;
+    }
+
+    public List<Long> getToolIds() {
+        return toolIds;
+    }
+
+    public List<String> getToolNames() {
+        return toolNames;
+    }
+
+    public long getLargeFileId() {
+        return largeFileId;
+    }
+
+    public long getUploadToolId() {
+        return uploadToolId;
+    }
+
+    public String getSlowSessionPath() {
+        return "/files/upload-sessions/" + ApiClient.encode(slowSessionId);
+    }
+
+    /**
+     * 压测结束后取消慢速上传场景的上传会话，删除服务端预分配的临时文件
+     */
+    public void release(ApiClient client) throws IOException, InterruptedException {
+        if (slowSessionId != null) {
+            client.delete(getSlowSessionPath());
+        }
+    }
+
+    /**
+     * 创建缺少的测试工具，返回 名称 -> ID
+     */
+    private static Map<String, Long> ensureTools(ApiClient client, LoadTestOptions options)
+            throws IOException, InterruptedException {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < options.tools; i++) {
+            names.add(TOOL_PREFIX + i);
+        }
+        names.add(DOWNLOAD_TOOL);
+        names.add(UPLOAD_TOOL);
+
+        Map<String, Long> existing = listTools(client);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            if (existing.containsKey(name)) {
+                continue;
+            }
+            Map<String, Object> tool = new LinkedHashMap<>();
+            tool.put("name", name);
+            tool.put("description", "压测工具 " + name);
+            tool.put("type", TOOL_TYPES[i % TOOL_TYPES.length]);
+            tool.put("currentVersion", "1.0.0");
+            tool.put("owner", "loadtest");
+            tool.put("status", 1);
+            tool.put("sortOrder", i);
+            client.postJson("/tools", client.toJson(tool));
+        }
+        return listTools(client);
+    }
+
+    private static Map<String, Long> listTools(ApiClient client) throws IOException, InterruptedException {
+        Map<String, Long> tools = new HashMap<>();
+        for (JsonNode tool : client.getData("/tools/list")) {
+            tools.put(tool.path("name").asText(), tool.path("id").asLong());
+        }
+        return tools;
+    }
+
+    private static void ensureFiles(ApiClient client, long toolId, int toolIndex, int count, Random random)
+            throws IOException, InterruptedException {
+        int existing = client.getData("/files/tool/" + toolId).size();
+        for (int j = existing; j < count; j++) {
+            byte[] content = new byte[SMALL_FILE_SIZE];
+            random.nextBytes(content);
+            Map<String, String> params = new LinkedHashMap<>();
+            params.put("toolId", String.valueOf(toolId));
+            params.put("version", "1.0." + j);
+            params.put("uploader", "loadtest");
+            client.upload("/files/upload", params, "tool-" + toolIndex + "-" + j + ".bin", content);
+        }
+    }
+
+    private static void ensureChangeLogs(ApiClient client, long toolId, int count)
+            throws IOException, InterruptedException {
+        int existing = client.getData("/changelogs/tool/" + toolId).size();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int j = existing; j < count; j++) {
+            Map<String, Object> log = new LinkedHashMap<>();
+            log.put("toolId", toolId);
+            log.put("version", "1.0." + j);
+            log.put("changeType", "优化");
+            log.put("content", "压测变更日志 " + j);
+            log.put("changer", "loadtest");
+            log.put("changeTime", base.plusDays(j).toString());
+            client.postJson("/changelogs", client.toJson(log));
+        }
+    }
+
+    /**
+     * 创建慢速上传场景使用的上传会话，每个连接写入其中一个分片大小的区间
+     */
+    private static String createSlowSession(ApiClient client, long toolId, LoadTestOptions options)
+            throws IOException, InterruptedException {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("toolId", String.valueOf(toolId));
+        params.put("fileName", "slow-" + UUID.randomUUID() + ".bin");
+        params.put("fileSize", String.valueOf(options.slowStreams * options.slowChunkSize));
+        params.put("version", "1.0.0");
+        params.put("uploader", "loadtest");
+        return client.postParams("/files/upload-sessions", params).path("sessionId").asText();
+    }
+
+    /**
+     * 通过分片上传写入下载场景使用的大文件，内容按分片生成，不在客户端落盘
+     */
+    private static long ensureLargeFile(ApiClient client, long toolId, LoadTestOptions options)
+            throws IOException, InterruptedException {
+        String fileName = "large-" + options.largeFileSize + ".bin";
+        for (JsonNode file : client.getData("/files/tool/" + toolId)) {
+            if (fileName.equals(file.path("originalName").asText())
+                    && file.path("fileSize").asLong() == options.largeFileSize) {
+                return file.path("id").asLong();
+            }
+        }
+
+        logger.info("分片上传大文件 - 大小: {} MB, 分片: {} MB",
+                options.largeFileSize >> 20, options.chunkSize >> 20);
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("toolId", String.valueOf(toolId));
+        params.put("fileName", fileName);
+        params.put("fileSize", String.valueOf(options.largeFileSize));
+        params.put("version", "1.0.0");
+        params.put("uploader", "loadtest");
+        String sessionId = client.postParams("/files/upload-sessions", params).path("sessionId").asText();
+
+        String sessionPath = "/files/upload-sessions/" + ApiClient.encode(sessionId);
+        byte[] chunk = new byte[(int) Math.min(options.chunkSize, options.largeFileSize)];
+        Random random = new Random(7);
+        long start = System.nanoTime();
+        for (long offset = 0; offset < options.largeFileSize; offset += chunk.length) {
+            int length = (int) Math.min(chunk.length, options.largeFileSize - offset);
+            random.nextBytes(chunk);
+            client.putBytes(sessionPath + "?offset=" + offset, chunk, length);
+        }
+        JsonNode file = client.postJson(sessionPath + "/complete", "");
+        double seconds = (System.nanoTime() - start) / 1e9;
+        logger.info("大文件上传完成 - 耗时: {} s, 吞吐量: {} MB/s",
+                String.format("%.1f", seconds), String.format("%.1f", (options.largeFileSize >> 20) / seconds));
+        return file.path("id").asLong();
+    }
+}
@@ -0,0 +1,194 @@
+package com.company.tooldashboard.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 端到端压测入口
+ * 写入测试数据后，各场景按各自的并发数同时运行：先预热，再统计指定时长内的请求，
+ * 输出每个接口的请求数、错误率、吞吐量与 p50/p90/p99/最大延迟
+ *
+ * 用法：java com.company.tooldashboard.loadtest.LoadTest --base-url http://localhost:8080/api
+ *       [--scenarios browse,poll,download,upload,slow-upload] [--concurrency 50] [--duration 60s] ...
+ * 参数说明见 {@link LoadTestOptions}
+ */
+public class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ApiClient client = new ApiClient(options.baseUrl);
+        client.login(options.username, options.password);
+        Fixture fixture = Fixture.prepare(client, options);
+
+        long measureStart = System.nanoTime() + options.warmup.toNanos();
+        long deadline = measureStart + options.duration.toNanos();
+        logger.info("开始压测 - 地址: {}, 场景: {}, 预热: {} s, 统计: {} s", options.baseUrl, options.scenarios,
+                options.warmup.toSeconds(), options.duration.toSeconds());
+
+        List<ScenarioRun> runs = new ArrayList<>();
+        for (String name : options.scenarios) {
+            ScenarioRun run = new ScenarioRun(name, createScenario(name, client, fixture, options));
+            // 等待时间只用于模拟页面浏览与轮询间隔，上传与下载连续执行
+            long thinkTime = "browse".equals(name) || "poll".equals(name) ? options.thinkTime.toMillis() : 0;
+            run.start(concurrencyOf(name, options), measureStart, deadline, thinkTime);
+            runs.add(run);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", options.baseUrl);
+        report.put("warmupSeconds", options.warmup.toSeconds());
+        report.put("durationSeconds", options.duration.toSeconds());
+        List<Map<String, Object>> rows = new ArrayList<>();
+        StringBuilder table = new StringBuilder(String.format("%n%-10s %-28s %8s %7s %8s %10s %10s %10s %10s %10s %9s",
+                "场景", "接口", "请求数", "错误率", "并发", "吞吐量/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)", "MB/s"));
+        for (ScenarioRun run : runs) {
+            run.join();
+            if (run.operations.isEmpty()) {
+                // 单次请求耗时超过统计时长（如下载很大的文件）时没有可统计的请求
+                logger.warn("场景 {} 没有在统计时间内开始的请求，请增加 --duration", run.name);
+            }
+            double seconds = Math.max(run.lastEndNanos - measureStart, 1) / 1e9;
+            for (OperationStats stats : run.operations.values()) {
+                double throughput = stats.getRequests() / seconds;
+                double megabytesPerSecond = stats.getBytes() / 1048576.0 / seconds;
+                table.append(String.format("%n%-10s %-28s %8d %6.2f%% %8d %10.1f %10.2f %10.2f %10.2f %10.2f %9.1f",
+                        run.name, stats.getName(), stats.getRequests(), stats.getErrorRate() * 100, run.concurrency,
+                        throughput, stats.percentileMillis(50), stats.percentileMillis(90),
+                        stats.percentileMillis(99), stats.percentileMillis(100), megabytesPerSecond));
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("scenario", run.name);
+                row.put("operation", stats.getName());
+                row.put("concurrency", run.concurrency);
+                row.put("requests", stats.getRequests());
+                row.put("errors", stats.getErrors());
+                row.put("errorRate", stats.getErrorRate());
+                row.put("throughputPerSecond", throughput);
+                row.put("p50Millis", stats.percentileMillis(50));
+                row.put("p90Millis", stats.percentileMillis(90));
+                row.put("p99Millis", stats.percentileMillis(99));
+                row.put("maxMillis", stats.percentileMillis(100));
+                row.put("megabytesPerSecond", megabytesPerSecond);
+                row.put("firstError", stats.getFirstError());
+                rows.add(row);
+                if (stats.getFirstError() != null) {
+                    logger.warn("{} 共 {} 次错误，首个错误: {}", stats.getName(), stats.getErrors(), stats.getFirstError());
+                }
+            }
+            if (run.failure.get() != null) {
+                logger.error("场景 {} 异常终止", run.name, run.failure.get());
+            }
+        }
+        report.put("operations", rows);
+        logger.info("压测结果:{}", table);
+        fixture.release(client);
+
+        if (options.report != null) {
+            File file = new File(options.report);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+            logger.info("压测报告已写入: {}", file.getAbsolutePath());
+        }
+    }
+
+    private static Scenario createScenario(String name, ApiClient client, Fixture fixture, LoadTestOptions options) {
+        return switch (name) {
+            case "browse" -> new BrowseScenario(client, fixture);
+            case "poll" -> new PollScenario(client, fixture);
+            case "download" -> new DownloadScenario(client, fixture);
+            case "upload" -> new UploadScenario(client, fixture, options.uploadSize);
+            case "slow-upload" -> new SlowUploadScenario(client, fixture, options);
+            default -> throw new IllegalArgumentException("未知的压测场景: " + name);
+        };
+    }
+
+    private static int concurrencyOf(String name, LoadTestOptions options) {
+        return switch (name) {
+            case "download" -> options.downloadConcurrency;
+            case "upload" -> options.uploadConcurrency;
+            case "slow-upload" -> options.slowStreams;
+            default -> options.concurrency;
+        };
+    }
+
+    /**
+     * 单个场景的压测线程组
+     */
+    private static class ScenarioRun {
+
+        private final String name;
+
+        private final Scenario scenario;
+
+        private final List<Thread> threads = new ArrayList<>();
+
+        private final List<Recorder> recorders = new ArrayList<>();
+
+        private final Map<String, OperationStats> operations = new LinkedHashMap<>();
+
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private int concurrency;
+
+        private long lastEndNanos;
+
+        ScenarioRun(String name, Scenario scenario) {
+            this.name = name;
+            this.scenario = scenario;
+        }
+
+        void start(int concurrency, long measureStart, long deadline, long thinkTimeMillis) {
+            this.concurrency = concurrency;
+            for (int i = 0; i < concurrency; i++) {
+                Recorder recorder = new Recorder(measureStart);
+                // 每个线程使用固定种子，请求序列可重复
+                Random random = new Random(name.hashCode() * 31L + i);
+                Thread thread = new Thread(() -> {
+                    try {
+                        while (System.nanoTime() < deadline) {
+                            scenario.iterate(recorder, random);
+                            if (thinkTimeMillis > 0) {
+                                Thread.sleep(thinkTimeMillis);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }, "loadtest-" + name + "-" + i);
+                recorders.add(recorder);
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        /**
+         * 等待所有线程结束并合并统计
+         */
+        void join() throws InterruptedException {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            for (Recorder recorder : recorders) {
+                lastEndNanos = Math.max(lastEndNanos, recorder.getLastEndNanos());
+                recorder.getOperations().forEach((operation, stats) ->
+                        operations.computeIfAbsent(operation, OperationStats::new).merge(stats));
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.company.tooldashboard.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 压测参数
+ * 命令行格式为 --name value，同一参数出现多次时以最后一次为准
+ */
+public class LoadTestOptions {
+
+    /**
+     * 后端接口地址（包含 context-path）
+     */
+    String baseUrl = "http://localhost:8080/api";
+
+    String username = "admin";
+
+    String password = "admin123";
+
+    /**
+     * 要执行的场景，同时并发运行
+     */
+    List<String> scenarios = new ArrayList<>(Arrays.asList("browse", "poll", "download", "upload"));
+
+    /**
+     * 浏览与轮询场景的并发数
+     */
+    int concurrency = 50;
+
+    int downloadConcurrency = 4;
+
+    int uploadConcurrency = 8;
+
+    /**
+     * 每次迭代之间的等待时间（浏览与轮询场景），0表示不等待，测最大吞吐量
+     */
+    Duration thinkTime = Duration.ZERO;
+
+    /**
+     * 预热时间，期间的请求不计入结果
+     */
+    Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * 统计时间
+     */
+    Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * 写入的测试工具数量及每个工具的文件、变更日志数量
+     */
+    int tools = 20;
+
+    int filesPerTool = 5;
+
+    int logsPerTool = 10;
+
+    /**
+     * 下载场景使用的大文件大小，通过分片上传写入
+     */
+    long largeFileSize = 2L * 1024 * 1024 * 1024;
+
+    long chunkSize = 32L * 1024 * 1024;
+
+    /**
+     * 上传场景每个文件的大小
+     */
+    long uploadSize = 1024L * 1024;
+
+    /**
+     * 慢速上传场景的并发连接数（默认超过 Tomcat 默认最大线程数200）、每个分片的大小与每个连接的发送速率（字节/秒）
+     */
+    int slowStreams = 300;
+
+    long slowChunkSize = 1024L * 1024;
+
+    long slowRate = 64L * 1024;
+
+    /**
+     * JSON 报告输出路径，为空时只输出到日志
+     */
+    String report;
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (!name.startsWith("--")) {
+                throw new IllegalArgumentException("无法识别的参数: " + name);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("参数缺少取值: " + name);
+            }
+            String value = args[++i];
+            switch (name.substring(2)) {
+                case "base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "username" -> options.username = value;
+                case "password" -> options.password = value;
+                case "scenarios" -> options.scenarios = Arrays.asList(value.split(","));
+                case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "download-concurrency" -> options.downloadConcurrency = Integer.parseInt(value);
+                case "upload-concurrency" -> options.uploadConcurrency = Integer.parseInt(value);
+                case "think-time" -> options.thinkTime = parseDuration(value);
+                case "warmup" -> options.warmup = parseDuration(value);
+                case "duration" -> options.duration = parseDuration(value);
+                case "tools" -> options.tools = Integer.parseInt(value);
+                case "files-per-tool" -> options.filesPerTool = Integer.parseInt(value);
+                case "logs-per-tool" -> options.logsPerTool = Integer.parseInt(value);
+                case "large-file-size" -> options.largeFileSize = parseSize(value);
+                case "chunk-size" -> options.chunkSize = parseSize(value);
+                case "upload-size" -> options.uploadSize = parseSize(value);
+                case "slow-streams" -> options.slowStreams = Integer.parseInt(value);
+                case "slow-chunk-size" -> options.slowChunkSize = parseSize(value);
+                case "slow-rate" -> options.slowRate = parseSize(value);
+                case "report" -> options.report = value;
+                default -> throw new IllegalArgumentException("无法识别的参数: " + name);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * 解析时长：30s、5m、500ms，不带单位时按秒
+     */
+    static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(text));
+    }
+
+    /**
+     * 解析字节数：512k、64m、2g，不带单位时按字节
+     */
+    static long parseSize(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        long unit = 1;
+        if (text.endsWith("k")) {
+            unit = 1024L;
+        } else if (text.endsWith("m")) {
+            unit = 1024L * 1024;
+        } else if (text.endsWith("g")) {
+            unit = 1024L * 1024 * 1024;
+        }
+        if (unit > 1) {
+            text = text.substring(0, text.length() - 1);
+        }
+        return Long.parseLong(text) * unit;
+    }
+}
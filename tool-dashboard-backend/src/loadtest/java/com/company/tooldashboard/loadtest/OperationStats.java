@@ -0,0 +1,102 @@
+package com.company.tooldashboard.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 单个接口的请求统计：成功请求的延迟样本、错误数、传输字节数
+ */
+public class OperationStats {
+
+    private final String name;
+
+    private long[] latencies = new long[1024];
+
+    private int successes;
+
+    private long errors;
+
+    private long bytes;
+
+    private String firstError;
+
+    private boolean sorted;
+
+    public OperationStats(String name) {
+        this.name = name;
+    }
+
+    void addSuccess(long latencyNanos, long transferredBytes) {
+        if (successes == latencies.length) {
+            latencies = Arrays.copyOf(latencies, successes * 2);
+        }
+        latencies[successes++] = latencyNanos;
+        bytes += transferredBytes;
+        sorted = false;
+    }
+
+    void addError(long latencyNanos, Exception error) {
+        errors++;
+        if (firstError == null) {
+            firstError = error.getClass().getSimpleName() + ": " + error.getMessage();
+        }
+    }
+
+    /**
+     * 合并其他线程的统计
+     */
+    void merge(OperationStats other) {
+        if (successes + other.successes > latencies.length) {
+            latencies = Arrays.copyOf(latencies, successes + other.successes);
+        }
+        System.arraycopy(other.latencies, 0, latencies, successes, other.successes);
+        successes += other.successes;
+        errors += other.errors;
+        bytes += other.bytes;
+        if (firstError == null) {
+            firstError = other.firstError;
+        }
+        sorted = false;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRequests() {
+        return successes + errors;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getErrorRate() {
+        long requests = getRequests();
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public String getFirstError() {
+        return firstError;
+    }
+
+    /**
+     * 成功请求延迟的百分位数（最近秩法），单位毫秒
+     *
+     * @param percentile 百分位，取值 (0, 100]
+     */
+    public double percentileMillis(double percentile) {
+        if (successes == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(latencies, 0, successes);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * successes);
+        return latencies[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
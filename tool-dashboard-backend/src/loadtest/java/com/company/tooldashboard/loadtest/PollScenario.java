@@ -0,0 +1,25 @@
+package com.company.tooldashboard.loadtest;
+
+import java.util.Random;
+
+/**
+ * 轮询更新：客户端工具定时查询自身的最新版本号
+ */
+public class PollScenario implements Scenario {
+
+    private final ApiClient client;
+
+    private final Fixture fixture;
+
+    public PollScenario(ApiClient client, Fixture fixture) {
+        this.client = client;
+        this.fixture = fixture;
+    }
+
+    @Override
+    public void iterate(Recorder recorder, Random random) throws InterruptedException {
+        String toolName = fixture.getToolNames().get(random.nextInt(fixture.getToolNames().size()));
+        String path = "/tools/latest-version?toolName=" + ApiClient.encode(toolName);
+        recorder.record("GET /tools/latest-version", () -> client.get(path));
+    }
+}
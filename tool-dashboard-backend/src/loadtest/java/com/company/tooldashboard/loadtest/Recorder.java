@@ -0,0 +1,69 @@
+package com.company.tooldashboard.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 单个压测线程的请求记录器（不做同步，每个线程独占一个实例，结束后合并）
+ * 预热期内开始的请求不计入结果
+ */
+public class Recorder {
+
+    /**
+     * 单次请求，返回传输的字节数（下载为接收的字节数，上传为发送的字节数）
+     */
+    @FunctionalInterface
+    public interface Call {
+        long run() throws Exception;
+    }
+
+    private final long measureStartNanos;
+
+    private final Map<String, OperationStats> operations = new LinkedHashMap<>();
+
+    private long lastEndNanos;
+
+    public Recorder(long measureStartNanos) {
+        this.measureStartNanos = measureStartNanos;
+    }
+
+    /**
+     * 执行并记录一次请求，失败时记为错误而不中断压测
+     *
+     * @return 请求是否成功
+     */
+    public boolean record(String operation, Call call) throws InterruptedException {
+        long start = System.nanoTime();
+        long bytes = 0;
+        Exception error = null;
+        try {
+            bytes = call.run();
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            error = e;
+        }
+        long end = System.nanoTime();
+        if (start >= measureStartNanos) {
+            OperationStats stats = operations.computeIfAbsent(operation, OperationStats::new);
+            if (error == null) {
+                stats.addSuccess(end - start, bytes);
+            } else {
+                stats.addError(end - start, error);
+            }
+            lastEndNanos = Math.max(lastEndNanos, end);
+        }
+        return error == null;
+    }
+
+    public Map<String, OperationStats> getOperations() {
+        return operations;
+    }
+
+    /**
+     * 最后一次计入结果的请求的结束时间，用于计算统计时长（大文件下载可能超出设定的压测时间）
+     */
+    public long getLastEndNanos() {
+        return lastEndNanos;
+    }
+}
@@ -0,0 +1,17 @@
+package com.company.tooldashboard.loadtest;
+
+import java.util.Random;
+
+/**
+ * 压测场景：每个压测线程循环执行 iterate 直到压测结束
+ */
+public interface Scenario {
+
+    /**
+     * 执行一次迭代（一次页面浏览、一次轮询、一次下载或一次上传）
+     *
+     * @param recorder 当前线程的请求记录器
+     * @param random 当前线程的随机数生成器
+     */
+    void iterate(Recorder recorder, Random random) throws InterruptedException;
+}
@@ -0,0 +1,41 @@
+package com.company.tooldashboard.loadtest;
+
+import java.util.Random;
+
+/**
+ * 慢速上传：大量客户端以很低的速率上传分片（如弱网环境下的大文件上传），
+ * 每个请求在整个传输期间都占用一个服务端连接。
+ * 并发数超过 Tomcat 工作线程数（server.tomcat.max-threads）时，平台线程模式下其余接口无线程可用，
+ * 与 browse、poll 场景同时运行，对比 spring.threads.virtual.enabled 开启前后其他接口的延迟
+ */
+public class SlowUploadScenario implements Scenario {
+
+    private final ApiClient client;
+
+    private final Fixture fixture;
+
+    private final long chunkSize;
+
+    private final long bytesPerSecond;
+
+    private final int slots;
+
+    public SlowUploadScenario(ApiClient client, Fixture fixture, LoadTestOptions options) {
+        this.client = client;
+        this.fixture = fixture;
+        this.chunkSize = options.slowChunkSize;
+        this.bytesPerSecond = options.slowRate;
+        this.slots = options.slowStreams;
+    }
+
+    @Override
+    public void iterate(Recorder recorder, Random random) throws InterruptedException {
+        // 所有线程写入同一个上传会话的不同区间，重复写入同一区间不影响结果
+        long offset = random.nextInt(slots) * chunkSize;
+        String path = fixture.getSlowSessionPath() + "?offset=" + offset;
+        recorder.record("PUT /files/upload-sessions/{id}", () -> {
+            client.putSlowly(path, chunkSize, bytesPerSecond);
+            return chunkSize;
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.company.tooldashboard.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * 批量上传：多个管理员同时上传文件，每次上传的文件名和内容都不同（内容寻址存储不会去重）
+ */
+public class UploadScenario implements Scenario {
+
+    private final ApiClient client;
+
+    private final Fixture fixture;
+
+    private final int uploadSize;
+
+    /**
+     * 本次压测的标识，避免与之前压测上传的文件重名
+     */
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    public UploadScenario(ApiClient client, Fixture fixture, long uploadSize) {
+        this.client = client;
+        this.fixture = fixture;
+        this.uploadSize = (int) uploadSize;
+    }
+
+    @Override
+    public void iterate(Recorder recorder, Random random) throws InterruptedException {
+        byte[] content = new byte[uploadSize];
+        random.nextBytes(content);
+        String fileName = "burst-" + runId + "-" + UUID.randomUUID() + ".bin";
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("toolId", String.valueOf(fixture.getUploadToolId()));
+        params.put("version", "1.0.0");
+        params.put("uploader", "loadtest");
+        recorder.record("POST /files/upload", () -> {
+            client.upload("/files/upload", params, fileName, content);
+            return content.length;
+        });
+    }
+}
@@ -0,0 +1,94 @@
+-- 压测用 H2 表结构（MySQL兼容模式）
+-- 与 db/migration 下全部迁移执行后的 MySQL 表结构一致；H2 的索引名在整个schema内唯一，重名索引加了表前缀
+
+CREATE TABLE tb_tool (
+  id bigint NOT NULL AUTO_INCREMENT,
+  name varchar(100) NOT NULL,
+  description varchar(500) DEFAULT NULL,
+  type varchar(50) DEFAULT NULL,
+  icon_url varchar(255) DEFAULT NULL,
+  access_url varchar(255) DEFAULT NULL,
+  current_version varchar(50) DEFAULT NULL,
+  owner varchar(50) DEFAULT NULL,
+  status int DEFAULT 1,
+  sort_order int DEFAULT 0,
+  create_time datetime DEFAULT CURRENT_TIMESTAMP,
+  update_time datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  deleted int DEFAULT 0,
+  PRIMARY KEY (id)
+);
+CREATE INDEX idx_tool_status ON tb_tool (status);
+CREATE INDEX idx_tool_sort_order ON tb_tool (sort_order);
+CREATE INDEX idx_tool_name ON tb_tool (name, deleted);
+
+CREATE TABLE tb_tool_file (
+  id bigint NOT NULL AUTO_INCREMENT,
+  tool_id bigint NOT NULL,
+  file_name varchar(255) NOT NULL,
+  original_name varchar(255) DEFAULT NULL,
+  file_path varchar(500) NOT NULL,
+  content_hash char(64) DEFAULT NULL,
+  file_size bigint DEFAULT NULL,
+  file_type varchar(100) DEFAULT NULL,
+  version varchar(50) DEFAULT NULL,
+  architecture varchar(50) DEFAULT NULL,
+  download_count int DEFAULT 0,
+  description varchar(500) DEFAULT NULL,
+  uploader varchar(50) DEFAULT NULL,
+  create_time datetime DEFAULT CURRENT_TIMESTAMP,
+  update_time datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  deleted int DEFAULT 0,
+  active_file_path varchar(500) GENERATED ALWAYS AS (CASE WHEN deleted = 0 THEN file_path END),
+  PRIMARY KEY (id)
+);
+CREATE UNIQUE INDEX uk_active_file_path ON tb_tool_file (active_file_path);
+CREATE INDEX idx_file_path ON tb_tool_file (file_path, deleted);
+CREATE INDEX idx_content_hash ON tb_tool_file (content_hash, deleted);
+CREATE INDEX idx_tool_create_time ON tb_tool_file (tool_id, deleted, create_time, id);
+CREATE INDEX idx_file_create_time ON tb_tool_file (deleted, create_time, id);
+CREATE INDEX idx_tool_version ON tb_tool_file (deleted, tool_id, version);
+
+CREATE TABLE tb_change_log (
+  id bigint NOT NULL AUTO_INCREMENT,
+  tool_id bigint NOT NULL,
+  version varchar(50) DEFAULT NULL,
+  change_type varchar(50) DEFAULT NULL,
+  content text,
+  changer varchar(50) DEFAULT NULL,
+  change_time datetime DEFAULT NULL,
+  create_time datetime DEFAULT CURRENT_TIMESTAMP,
+  update_time datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  deleted int DEFAULT 0,
+  PRIMARY KEY (id)
+);
+CREATE INDEX idx_tool_change_time ON tb_change_log (tool_id, deleted, change_time, id);
+CREATE INDEX idx_log_change_time ON tb_change_log (deleted, change_time, id);
+
+CREATE TABLE tb_admin (
+  id bigint NOT NULL AUTO_INCREMENT,
+  username varchar(50) NOT NULL,
+  password varchar(255) NOT NULL,
+  real_name varchar(50) DEFAULT NULL,
+  email varchar(100) DEFAULT NULL,
+  status int DEFAULT 1,
+  last_login_time datetime DEFAULT NULL,
+  create_time datetime DEFAULT CURRENT_TIMESTAMP,
+  update_time datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  deleted int DEFAULT 0,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_username UNIQUE (username)
+);
+
+CREATE TABLE tb_revoked_token (
+  id bigint NOT NULL AUTO_INCREMENT,
+  token_digest char(64) NOT NULL,
+  expire_time datetime NOT NULL,
+  create_time datetime DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_token_digest UNIQUE (token_digest)
+);
+CREATE INDEX idx_expire_time ON tb_revoked_token (expire_time);
+
+-- 默认管理员账号（用户名：admin，密码：admin123）
+INSERT INTO tb_admin (username, password, real_name, email, status)
+VALUES ('admin', '0192023a7bbd73250516f069df18b500', '系统管理员', 'admin@example.com', 1);
@@ -3,12 +3,14 @@ package com.company.tooldashboard;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 工具看板系统启动类
  */
 @SpringBootApplication
 @MapperScan("com.company.tooldashboard.mapper")
+@EnableScheduling
 public class ToolDashboardApplication {
 
     public static void main(String[] args) {
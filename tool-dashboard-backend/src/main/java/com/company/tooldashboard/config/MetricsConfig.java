@@ -0,0 +1,136 @@
+package com.company.tooldashboard.config;
+
+import com.company.tooldashboard.service.ChunkedUploadService;
+import com.company.tooldashboard.service.DownloadCountService;
+import com.company.tooldashboard.service.FilePathCache;
+import com.company.tooldashboard.service.IconCache;
+import com.company.tooldashboard.service.TokenBlacklistService;
+import com.company.tooldashboard.util.JwtUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 运行指标配置（通过 /actuator/prometheus 导出）
+ *
+ * HTTP请求、HikariCP连接池、Tomcat线程池、JVM指标由 Spring Boot 自动注册；
+ * 这里统一定义业务指标名称，并把各缓存、队列已有的统计数据绑定为指标。
+ * 下载、上传、权限校验、数据库操作的计时与计数在对应的类中记录
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 下载实际写出的字节数，mode: stream（缓冲流式写出，按写出的字节计）
+     */
+    public static final String DOWNLOAD_BYTES = "tooldashboard.download.bytes";
+
+    /**
+     * 交给Tomcat通过 sendfile 发送的字节数（按请求的区间长度计）
+     * Servlet 返回时 Tomcat 尚未发送，客户端中断或发送失败的部分也计入，只能近似反映 sendfile 带宽
+     */
+    public static final String DOWNLOAD_SENDFILE_BYTES = "tooldashboard.download.sendfile.scheduled.bytes";
+
+    /**
+     * 正在流式写出的下载数（sendfile 由Tomcat在请求结束后发送，不计入）
+     */
+    public static final String DOWNLOAD_ACTIVE = "tooldashboard.download.active";
+
+    /**
+     * 流式下载写出耗时
+     */
+    public static final String DOWNLOAD_DURATION = "tooldashboard.download.duration";
+
+    /**
+     * 上传写入的字节数，type: multipart（普通/批量上传）/ chunk（分片上传）
+     */
+    public static final String UPLOAD_BYTES = "tooldashboard.upload.bytes";
+
+    /**
+     * 上传耗时，type: multipart / chunk / complete（分片合并：计算哈希并移入存储），result: success / failure
+     */
+    public static final String UPLOAD_DURATION = "tooldashboard.upload.duration";
+
+    /**
+     * 管理接口权限校验耗时，result: success / missing / revoked / invalid
+     */
+    public static final String AUTH_CHECKS = "tooldashboard.auth.checks";
+
+    /**
+     * 数据库操作耗时（按Mapper方法），mapper / method / result
+     */
+    public static final String DB_OPERATIONS = "tooldashboard.db.operations";
+
+    @Autowired
+    private IconCache iconCache;
+
+    @Autowired
+    private FilePathCache filePathCache;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private DownloadCountService downloadCountService;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    /**
+     * 缓存命中率：cache.gets{result=hit|miss}、cache.size、cache.evictions
+     */
+    @Bean
+    public MeterBinder cacheMetrics() {
+        return registry -> {
+            bindGets(registry, "icon", iconCache, IconCache::getHitCount, IconCache::getMissCount);
+            Gauge.builder("cache.size", iconCache, IconCache::getEntryCount)
+                    .tag("cache", "icon").register(registry);
+            FunctionCounter.builder("cache.evictions", iconCache, IconCache::getEvictionCount)
+                    .tag("cache", "icon").register(registry);
+            Gauge.builder("tooldashboard.icon.cache.bytes", iconCache, IconCache::getSizeBytes)
+                    .description("图标堆外缓存占用字节数").baseUnit("bytes").register(registry);
+
+            bindGets(registry, "file-path", filePathCache, FilePathCache::getHitCount, FilePathCache::getMissCount);
+            Gauge.builder("cache.size", filePathCache, FilePathCache::getEntryCount)
+                    .tag("cache", "file-path").register(registry);
+
+            bindGets(registry, "jwt-verified", jwtUtil, JwtUtil::getVerifiedHitCount, JwtUtil::getVerifiedMissCount);
+            Gauge.builder("cache.size", jwtUtil, JwtUtil::getVerifiedCacheSize)
+                    .tag("cache", "jwt-verified").register(registry);
+        };
+    }
+
+    /**
+     * 待写回数据库的下载次数、token黑名单条目数、进行中的分片上传会话数
+     */
+    @Bean
+    public MeterBinder backlogMetrics() {
+        return registry -> {
+            Gauge.builder("tooldashboard.download.count.pending", downloadCountService,
+                            DownloadCountService::getPendingCount)
+                    .description("尚未写回数据库的下载次数").register(registry);
+            Gauge.builder("tooldashboard.auth.revoked.tokens", tokenBlacklistService, TokenBlacklistService::getSize)
+                    .description("已登出token黑名单条目数").register(registry);
+            Gauge.builder("tooldashboard.upload.sessions", chunkedUploadService,
+                            ChunkedUploadService::getActiveSessionCount)
+                    .description("进行中的分片上传会话数").register(registry);
+        };
+    }
+
+    private static <T> void bindGets(MeterRegistry registry, String cache, T source,
+                                     ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("cache.gets", source, hits)
+                .tags("cache", cache, "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", source, misses)
+                .tags("cache", cache, "result", "miss").register(registry);
+    }
+}
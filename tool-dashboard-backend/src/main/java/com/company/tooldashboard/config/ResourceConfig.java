@@ -1,26 +1,186 @@
 package com.company.tooldashboard.config;
 
+import com.company.tooldashboard.service.FileStorageService;
+import com.company.tooldashboard.util.CompressionUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * 静态资源配置
  */
 @Configuration
 public class ResourceConfig implements WebMvcConfigurer {
-    
+
     @Value("${file.upload-path}")
     private String uploadPath;
-    
+
     @Value("${file.access-url}")
     private String accessUrl;
-    
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // 配置文件访问路径映射
+        // 存在上传后生成的预压缩版本时，按 Accept-Encoding 直接返回压缩版本
+        // 上传目录内容会变化，不缓存资源解析结果
         registry.addResourceHandler(accessUrl + "/**")
-                .addResourceLocations("file:" + uploadPath + "/");
+                .addResourceLocations("file:" + uploadPath + "/")
+                .resourceChain(false)
+                .addResolver(new GzipVariantResourceResolver())
+                .addResolver(new UploadResourceResolver());
+    }
+
+    /**
+     * 只解析工具文件，不暴露内容文件目录、分片上传会话等存储内部目录
+     */
+    private static class UploadResourceResolver extends PathResourceResolver {
+
+        @Override
+        protected Resource getResource(String resourcePath, Resource location) throws IOException {
+            if (FileStorageService.isInternalPath(resourcePath)) {
+                return null;
+            }
+            return super.getResource(resourcePath, location);
+        }
+    }
+
+    /**
+     * 预压缩版本解析：只使用 FileStorageService 生成的压缩版本（.variants 目录下），
+     * 不把与文件同目录、用户上传的同名 .gz 文件当作压缩版本
+     * Range 请求针对原始内容的字节区间，始终返回原始文件
+     */
+    private class GzipVariantResourceResolver extends AbstractResourceResolver {
+
+        @Override
+        protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                                   List<? extends Resource> locations, ResourceResolverChain chain) {
+            Resource resource = chain.resolveResource(request, requestPath, locations);
+            if (resource == null || request == null || !resource.isFile()) {
+                return resource;
+            }
+            Path variant;
+            try {
+                variant = fileStorageService.getGzipVariantPath(resource.getFile().toPath());
+            } catch (IOException | IllegalArgumentException e) {
+                return resource;
+            }
+            if (!Files.isRegularFile(variant)) {
+                return resource;
+            }
+            boolean useGzip = request.getHeader(HttpHeaders.RANGE) == null
+                    && CompressionUtil.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            return new VariantResource(useGzip ? new FileSystemResource(variant) : resource, resource, useGzip);
+        }
+
+        @Override
+        protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                                ResourceResolverChain chain) {
+            return chain.resolveUrlPath(resourceUrlPath, locations);
+        }
+    }
+
+    /**
+     * 存在预压缩版本的资源：响应带 Vary: Accept-Encoding，发送压缩版本时带 Content-Encoding: gzip
+     * 文件名（用于确定 Content-Type）始终取原始文件
+     */
+    private static class VariantResource extends AbstractResource implements HttpResource {
+
+        private final Resource body;
+        private final Resource original;
+        private final boolean gzip;
+
+        private VariantResource(Resource body, Resource original, boolean gzip) {
+            this.body = body;
+            this.original = original;
+            this.gzip = gzip;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return body.getInputStream();
+        }
+
+        @Override
+        public boolean exists() {
+            return body.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return body.isReadable();
+        }
+
+        @Override
+        public boolean isFile() {
+            return body.isFile();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return body.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return body.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return body.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return body.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return body.lastModified();
+        }
+
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return body.getDescription();
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (gzip) {
+                headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            return headers;
+        }
     }
 }
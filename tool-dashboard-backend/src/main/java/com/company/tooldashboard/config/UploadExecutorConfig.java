@@ -0,0 +1,56 @@
+package com.company.tooldashboard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 文件上传线程池配置
+ * 用于批量上传时并行写盘，线程数与队列均有上限，队列满时由请求线程自行执行（背压）；
+ * 以及上传后在后台生成预压缩版本
+ */
+@Configuration
+public class UploadExecutorConfig {
+    
+    @Value("${file.upload.parallelism:4}")
+    private int parallelism;
+    
+    @Value("${file.upload.queue-capacity:64}")
+    private int queueCapacity;
+    
+    @Value("${file.precompress.queue-capacity:100}")
+    private int precompressQueueCapacity;
+    
+    @Bean("uploadExecutor")
+    public ThreadPoolTaskExecutor uploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("file-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * 预压缩线程池：上传入库后在后台生成 gzip 压缩版本，不占用上传请求的时间
+     * 单线程按提交顺序执行，同一文件先后上传时后提交的压缩结果覆盖先提交的；
+     * 队列满时拒绝（不生成压缩版本，下载时发送原始文件）
+     */
+    @Bean("precompressExecutor")
+    public ThreadPoolTaskExecutor precompressExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(precompressQueueCapacity);
+        executor.setThreadNamePrefix("file-precompress-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,32 @@
+package com.company.tooldashboard.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程配置（spring.threads.virtual.enabled=true 时启用）
+ * Tomcat 为每个请求创建一个虚拟线程，代替最多 server.tomcat.max-threads 个的平台线程池：
+ * 慢速上传、下载在等待网络时不再占住工作线程，并发连接数只受 server.tomcat.max-connections 限制。
+ *
+ * 开启后持有锁期间做磁盘或数据库I/O的地方需使用 ReentrantLock，
+ * 虚拟线程在 synchronized 中阻塞会一直占住底层的平台线程
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {
+        logger.info("Tomcat 请求处理使用虚拟线程");
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tomcat-handler-", 0).factory()));
+    }
+}
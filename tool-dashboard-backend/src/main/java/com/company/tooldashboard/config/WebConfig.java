@@ -39,6 +39,7 @@ public class WebConfig implements WebMvcConfigurer {
         "/icon/**",
         "/files/tool/**",
         "/files/page",
+        "/files/cursor",
         "/files/download/**",
         "/files/download-by-path/**",
         
@@ -49,7 +50,11 @@ public class WebConfig implements WebMvcConfigurer {
         
         // 变更日志查询
         "/changelogs/tool/**",
-        "/changelogs/page"
+        "/changelogs/page",
+        "/changelogs/cursor",
+        
+        // 全文搜索
+        "/search"
     );
     
     @PostConstruct
@@ -7,6 +7,7 @@ import com.company.tooldashboard.dto.LoginResponse;
 import com.company.tooldashboard.service.AdminService;
 import com.company.tooldashboard.service.TokenBlacklistService;
 import com.company.tooldashboard.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -24,9 +25,6 @@ public class AuthController {
     @Autowired
     private TokenBlacklistService tokenBlacklistService;
     
-    @Autowired
-    private JwtUtil jwtUtil;
-    
     /**
      * 管理员登录
      */
@@ -45,7 +43,8 @@ public class AuthController {
      */
     @RequireAdmin
     @PostMapping("/logout")
-    public Result<Void> logout(@RequestHeader("Authorization") String authHeader) {
+    public Result<Void> logout(@RequestHeader("Authorization") String authHeader,
+                               @RequestAttribute(JwtUtil.CLAIMS_ATTRIBUTE) Claims claims) {
         try {
             // 提取token
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -54,11 +53,11 @@ public class AuthController {
             
             String token = authHeader.substring(7);
             
-            // 获取token的过期时间
-            Long expirationTime = jwtUtil.getExpirationTime(token);
-            if (expirationTime == null) {
+            // 获取token的过期时间（拦截器已完成解析）
+            if (claims.getExpiration() == null) {
                 return Result.error("无效的token");
             }
+            Long expirationTime = claims.getExpiration().getTime();
             
             // 将token加入黑名单
             tokenBlacklistService.addToBlacklist(token, expirationTime);
@@ -3,12 +3,14 @@ package com.company.tooldashboard.controller;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.company.tooldashboard.annotation.RequireAdmin;
 import com.company.tooldashboard.common.Result;
+import com.company.tooldashboard.dto.CursorPage;
 import com.company.tooldashboard.entity.ChangeLog;
 import com.company.tooldashboard.service.ChangeLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.util.List;
 
@@ -44,13 +46,35 @@ public class ChangeLogController {
         return Result.success(page);
     }
     
+    /**
+     * 游标分页查询变更日志（公开接口）
+     * 首页不传 cursor，之后传上一页返回的 nextCursor；总数默认不查询，需要时传 withTotal=true
+     */
+    @GetMapping("/cursor")
+    public Result<CursorPage<ChangeLog>> getLogCursorPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) Long toolId,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            HttpServletResponse response) {
+        try {
+            return Result.success(changeLogService.getLogCursorPage(cursor, size, toolId, withTotal));
+        } catch (IllegalArgumentException e) {
+            // 游标格式不正确
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return Result.error(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
     /**
      * 新增变更日志（需要管理员权限）
      */
     @RequireAdmin
     @PostMapping
     public Result<Void> addChangeLog(@Valid @RequestBody ChangeLog changeLog) {
-        changeLogService.save(changeLog);
+        changeLogService.addChangeLog(changeLog);
         return Result.success();
     }
     
@@ -61,7 +85,7 @@ public class ChangeLogController {
     @PutMapping("/{id}")
     public Result<Void> updateChangeLog(@PathVariable Long id, @Valid @RequestBody ChangeLog changeLog) {
         changeLog.setId(id);
-        changeLogService.updateById(changeLog);
+        changeLogService.updateChangeLog(changeLog);
         return Result.success();
     }
     
@@ -71,7 +95,7 @@ public class ChangeLogController {
     @RequireAdmin
     @DeleteMapping("/{id}")
     public Result<Void> deleteChangeLog(@PathVariable Long id) {
-        changeLogService.removeById(id);
+        changeLogService.deleteChangeLog(id);
         return Result.success();
     }
 }
@@ -3,34 +3,47 @@ package com.company.tooldashboard.controller;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.company.tooldashboard.annotation.RequireAdmin;
 import com.company.tooldashboard.common.Result;
+import com.company.tooldashboard.dto.BatchUploadResultDTO;
+import com.company.tooldashboard.dto.CursorPage;
+import com.company.tooldashboard.dto.UploadSessionDTO;
 import com.company.tooldashboard.entity.ToolFile;
+import com.company.tooldashboard.service.ChunkedUploadService;
+import com.company.tooldashboard.service.FileDownloadService;
 import com.company.tooldashboard.service.FileManagementService;
+import com.company.tooldashboard.service.FilePathCache;
+import com.company.tooldashboard.service.FileStorageService;
+import com.company.tooldashboard.service.IconCache;
+import com.company.tooldashboard.util.FileNameUtil;
+import com.company.tooldashboard.util.IconVariantUtil;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URLEncoder;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 统一文件管理控制器
@@ -46,9 +59,30 @@ public class FileManagementController {
     
     private static final Logger logger = LoggerFactory.getLogger(FileManagementController.class);
     
+    /**
+     * 图标缓存策略：文件名为UUID，同一URL的内容不会变化
+     */
+    private static final CacheControl ICON_CACHE_CONTROL =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+    
     @Autowired
     private FileManagementService fileManagementService;
     
+    @Autowired
+    private FileDownloadService fileDownloadService;
+    
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    @Autowired
+    private IconCache iconCache;
+    
+    @Autowired
+    private FilePathCache filePathCache;
+    
     @Value("${file.upload-path}")
     private String uploadPath;
     
@@ -78,52 +112,63 @@ public class FileManagementController {
         return Result.success(page);
     }
     
+    /**
+     * 游标分页查询文件列表（公开接口）
+     * 首页不传 cursor，之后传上一页返回的 nextCursor；总数默认不查询，需要时传 withTotal=true
+     */
+    @GetMapping("/files/cursor")
+    public Result<CursorPage<ToolFile>> getFileCursorPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) Long toolId,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            HttpServletResponse response) {
+        try {
+            return Result.success(fileManagementService.getFileCursorPage(cursor, size, toolId, withTotal));
+        } catch (IllegalArgumentException e) {
+            // 游标格式不正确
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return Result.error(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
     /**
      * 工具文件下载（公开接口）- 通过文件ID下载
+     * 支持 Range 断点续传，下载次数按逻辑下载计数，分段请求只在从第0字节开始时计数一次
      */
     @GetMapping("/files/download/{id}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long id) {
+    public void downloadFile(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response) {
         try {
             ToolFile toolFile = fileManagementService.getById(id);
             if (toolFile == null) {
-                return ResponseEntity.notFound().build();
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
             
-            // 增加下载次数
-            fileManagementService.increaseDownloadCount(id);
-            
-            // 读取文件（将URL路径转换为文件系统路径）
-            String filePathStr = toolFile.getFilePath().replace("/", File.separator);
-            Path filePath = Paths.get(uploadPath, filePathStr);
-            
-            
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            if (!resource.exists()) {
+            // 定位文件内容（按路径存储或内容寻址存储）
+            Path filePath = fileStorageService.resolve(toolFile);
+            FilePathCache.Entry file;
+            try {
+                file = FilePathCache.Entry.load(filePath, fileStorageService.getGzipVariantPath(filePath),
+                        toolFile.getOriginalName(), toolFile.getContentHash(), toolFile.getFileType());
+            } catch (NoSuchFileException e) {
                 logger.error("文件不存在: {}", filePath.toAbsolutePath());
-                return ResponseEntity.notFound().build();
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
             
-            // 设置响应头，支持中文文件名
-            String filename = toolFile.getOriginalName();
-            String encodedFilename = URLEncoder.encode(filename, StandardCharsets.UTF_8)
-                    .replace("+", "%20");
-            
-            // 同时设置 filename 和 filename*，确保兼容性
-            String contentDisposition = String.format(
-                "attachment; filename=\"%s\"; filename*=UTF-8''%s",
-                new String(filename.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1),
-                encodedFilename
-            );
-            
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
-                    .body(resource);
+            fileDownloadService.writeFile(request, response, file,
+                    () -> fileManagementService.increaseDownloadCount(id));
                     
+        } catch (IOException e) {
+            logger.debug("文件下载中断 - 文件ID: {}, 原因: {}", id, e.getMessage());
         } catch (Exception e) {
             logger.error("文件下载失败", e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         }
     }
     
@@ -133,7 +178,7 @@ public class FileManagementController {
      * 例如: /files/download-by-path/platform/tool1/abc123.zip
      */
     @GetMapping("/files/download-by-path/**")
-    public ResponseEntity<Resource> downloadFileByPath(HttpServletRequest request) {
+    public void downloadFileByPath(HttpServletRequest request, HttpServletResponse response) {
         try {
             // 获取完整路径（去掉 /files/download-by-path/ 前缀）
             String fullPath = request.getRequestURI();
@@ -142,55 +187,23 @@ public class FileManagementController {
             // URL解码，处理中文文件名
             String urlPath = java.net.URLDecoder.decode(encodedUrlPath, StandardCharsets.UTF_8);
             
-            // 将URL路径转换为文件系统路径
-            String fileSystemPath = urlPath.replace("/", File.separator);
-            Path filePath = Paths.get(uploadPath, fileSystemPath);
-            File file = filePath.toFile();
-            
-            if (!file.exists()) {
-                logger.warn("文件不存在: {}", filePath.toAbsolutePath());
-                return ResponseEntity.notFound().build();
-            }
-            
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            // 从URL路径中提取原始文件名（最后一个/后面的部分）
-            String fileName = urlPath.substring(urlPath.lastIndexOf('/') + 1);
-            
-            // 尝试从数据库获取原始文件名（更准确）
-            try {
-                // 使用精确查询：根据文件路径查询数据库
-                ToolFile toolFile = fileManagementService.lambdaQuery()
-                    .eq(ToolFile::getFilePath, urlPath)
-                    .last("LIMIT 1")
-                    .one();
-                
-                if (toolFile != null && toolFile.getOriginalName() != null) {
-                    fileName = toolFile.getOriginalName();
-                }
-            } catch (Exception e) {
-                logger.error("获取原始文件名失败", e);
+            // 路径元数据缓存命中时不查询数据库，只校验一次文件属性
+            FilePathCache.Entry file = filePathCache.get(urlPath);
+            if (file == null) {
+                logger.warn("文件不存在: {}", urlPath);
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
             }
             
-            String encodedFilename = URLEncoder.encode(fileName, StandardCharsets.UTF_8)
-                    .replace("+", "%20");
-            
-            // 同时设置 filename 和 filename*，确保兼容性
-            String contentDisposition = String.format(
-                "attachment; filename=\"%s\"; filename*=UTF-8''%s",
-                new String(fileName.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1),
-                encodedFilename
-            );
-            
-            
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
-                    .body(resource);
+            fileDownloadService.writeFile(request, response, file, null);
                     
+        } catch (IOException e) {
+            logger.debug("通过路径下载文件中断: {}", e.getMessage());
         } catch (Exception e) {
             logger.error("通过路径下载文件失败", e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         }
     }
     
@@ -220,7 +233,7 @@ public class FileManagementController {
      */
     @RequireAdmin
     @PostMapping("/files/uploads")
-    public Result<List<ToolFile>> uploadToolFiles(
+    public Result<BatchUploadResultDTO> uploadToolFiles(
             @RequestParam("files") List<MultipartFile> files,
             @RequestParam Long toolId,
             @RequestParam(required = false) String version,
@@ -228,8 +241,14 @@ public class FileManagementController {
             @RequestParam(required = false) String description,
             @RequestParam(required = false) String uploader) {
         try {
-            List<ToolFile> list = fileManagementService.uploadFiles(files, toolId, version, architecture, description, uploader);
-            return Result.success(list);
+            BatchUploadResultDTO result = fileManagementService.uploadFiles(files, toolId, version, architecture, description, uploader);
+            if (result.getSuccessCount() == 0) {
+                return Result.error("文件上传失败：" + result.getResults().get(0).getMessage());
+            }
+            if (result.getFailureCount() > 0) {
+                return Result.success("部分文件上传失败", result);
+            }
+            return Result.success(result);
         } catch (Exception e) {
             logger.error("批量上传工具文件失败", e);
             return Result.error(e.getMessage());
@@ -242,23 +261,7 @@ public class FileManagementController {
     @RequireAdmin
     @DeleteMapping("/files/{id}")
     public Result<Void> deleteFile(@PathVariable Long id) {
-        ToolFile toolFile = fileManagementService.getById(id);
-        if (toolFile != null) {
-            // 删除物理文件
-            try {
-                Path filePath = Paths.get(uploadPath, toolFile.getFilePath());
-                File file = filePath.toFile();
-                if (file.exists()) {
-                    file.delete();
-                    logger.info("已删除物理文件: {}", filePath);
-                }
-            } catch (Exception e) {
-                logger.warn("删除物理文件失败，但继续删除数据库记录", e);
-            }
-            
-            // 删除数据库记录
-            fileManagementService.removeById(id);
-        }
+        fileManagementService.deleteFile(id);
         return Result.success();
     }
 
@@ -281,7 +284,91 @@ public class FileManagementController {
             return Result.error(e.getMessage());
         }
     }
-    
+
+    // ==================== 分片上传接口 ====================
+
+    /**
+     * 初始化分片上传会话（需要管理员权限）
+     * 返回会话ID，客户端随后按偏移量上传分片
+     */
+    @RequireAdmin
+    @PostMapping("/files/upload-sessions")
+    public Result<UploadSessionDTO> createUploadSession(
+            @RequestParam Long toolId,
+            @RequestParam String fileName,
+            @RequestParam Long fileSize,
+            @RequestParam(required = false) String version,
+            @RequestParam(required = false) String architecture,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String uploader,
+            @RequestParam(required = false) String contentType) {
+        try {
+            UploadSessionDTO session = chunkedUploadService.createSession(toolId, fileName, fileSize, version,
+                    architecture, description, uploader, contentType);
+            return Result.success(session);
+        } catch (Exception e) {
+            logger.error("创建分片上传会话失败", e);
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 上传分片（需要管理员权限）
+     * 请求体为分片的原始字节（application/octet-stream），offset 为分片在文件中的起始位置
+     */
+    @RequireAdmin
+    @PutMapping("/files/upload-sessions/{sessionId}")
+    public Result<UploadSessionDTO> uploadChunk(@PathVariable String sessionId,
+                                                @RequestParam long offset,
+                                                HttpServletRequest request) {
+        try {
+            UploadSessionDTO session = chunkedUploadService.writeChunk(sessionId, offset,
+                    request.getContentLengthLong(), request.getInputStream());
+            return Result.success(session);
+        } catch (Exception e) {
+            logger.warn("分片上传失败 - 会话ID: {}, 偏移量: {}, 原因: {}", sessionId, offset, e.getMessage());
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 查询分片上传会话（需要管理员权限）
+     * 断点续传时根据已接收区间确定需要重新上传的分片
+     */
+    @RequireAdmin
+    @GetMapping("/files/upload-sessions/{sessionId}")
+    public Result<UploadSessionDTO> getUploadSession(@PathVariable String sessionId) {
+        try {
+            return Result.success(chunkedUploadService.getSession(sessionId));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 完成分片上传（需要管理员权限）
+     */
+    @RequireAdmin
+    @PostMapping("/files/upload-sessions/{sessionId}/complete")
+    public Result<ToolFile> completeUploadSession(@PathVariable String sessionId) {
+        try {
+            return Result.success(chunkedUploadService.completeSession(sessionId));
+        } catch (Exception e) {
+            logger.error("完成分片上传失败 - 会话ID: {}", sessionId, e);
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 取消分片上传（需要管理员权限）
+     */
+    @RequireAdmin
+    @DeleteMapping("/files/upload-sessions/{sessionId}")
+    public Result<Void> abortUploadSession(@PathVariable String sessionId) {
+        chunkedUploadService.abortSession(sessionId);
+        return Result.success();
+    }
+
     // ==================== 图标文件管理接口 ====================
     
     /**
@@ -328,7 +415,7 @@ public class FileManagementController {
             String relativePath;
             if (category != null && !category.isEmpty()) {
                 // 使用自定义分类: icons/{category}/{fileName}
-                String sanitizedCategory = sanitizeFileName(category);
+                String sanitizedCategory = FileNameUtil.sanitize(category);
                 relativePath = "icons/" + sanitizedCategory;
             } else {
                 // 使用日期分类: icons/{yyyy/MM/dd}/{fileName}
@@ -350,6 +437,21 @@ public class FileManagementController {
             logger.info("图标上传成功 - 分类: {}, 文件: {}", 
                        category != null ? category : "默认(日期)", filePath);
             
+            // 生成尺寸变体（失败不影响上传结果，请求变体时退回原图）
+            List<String> variants = new ArrayList<>();
+            try {
+                variants = IconVariantUtil.generateVariants(filePath);
+            } catch (Exception e) {
+                logger.warn("图标尺寸变体生成失败: {}", filePath, e);
+            }
+            
+            // 预热图标缓存
+            iconCache.warm(relativePath + "/" + fileName, filePath, getImageContentType(fileName));
+            for (String variant : variants) {
+                iconCache.warm(relativePath + "/" + variant, filePath.resolveSibling(variant),
+                        getImageContentType(variant));
+            }
+            
             // 返回访问URL
             String fileUrl = accessUrl + "/" + relativePath + "/" + fileName;
             
@@ -367,24 +469,16 @@ public class FileManagementController {
         }
     }
     
-    /**
-     * 文件名安全化处理
-     */
-    private String sanitizeFileName(String name) {
-        if (name == null || name.isEmpty()) {
-            return "unknown";
-        }
-        return name.replaceAll("[\\\\/:*?\"<>|]", "_")
-                   .replaceAll("\\s+", "_")
-                   .toLowerCase();
-    }
-    
     /**
      * 获取图标文件（公开接口）
      * 支持子目录路径，例如: /icon/icons/2025/10/27/xxx.png
+     * 图标文件名为UUID，内容不会变化，响应允许浏览器长期缓存；同时支持 ETag / Last-Modified 条件请求
+     * 图标内容缓存在堆外内存中（见 IconCache），命中时不访问磁盘
+     * 可通过 size 参数指定显示尺寸（像素），返回不小于该尺寸的最小缩略图，例如: /icon/icons/xxx.png?size=48
      */
     @GetMapping("/icon/**")
-    public ResponseEntity<byte[]> getIcon(HttpServletRequest request) {
+    public void getIcon(@RequestParam(required = false) Integer size,
+                        HttpServletRequest request, HttpServletResponse response) {
         // 获取完整路径（去掉 /icon/ 前缀）
         String fullPath = request.getRequestURI();
         String encodedPath = fullPath.substring("/api/icon/".length());
@@ -395,37 +489,78 @@ public class FileManagementController {
             relativePath = java.net.URLDecoder.decode(encodedPath, StandardCharsets.UTF_8);
         } catch (Exception e) {
             logger.error("URL解码失败: {}", encodedPath);
-            return ResponseEntity.badRequest().build();
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        
+        // 存储内部目录（内容文件、分片上传会话等）不能按路径访问
+        if (FileStorageService.isInternalPath(relativePath)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
         
         try {
             // 将URL路径转换为文件系统路径
             String fileSystemPath = relativePath.replace("/", File.separator);
             Path filePath = Paths.get(uploadPath, fileSystemPath);
-            File file = filePath.toFile();
             
-            if (!file.exists()) {
-                logger.warn("图标文件不存在: {}", filePath.toAbsolutePath());
-                return ResponseEntity.notFound().build();
+            // 指定了显示尺寸时优先使用尺寸变体，变体不存在（原图较小或为SVG）时使用原图
+            IconCache.Entry icon = null;
+            String variant = size != null && size > 0
+                    ? IconVariantUtil.selectVariant(filePath.getFileName().toString(), size) : null;
+            if (variant != null) {
+                String variantPath = relativePath.substring(0, relativePath.lastIndexOf('/') + 1) + variant;
+                icon = iconCache.get(variantPath, filePath.resolveSibling(variant), getImageContentType(variant));
             }
-
-            // 读取文件内容
-            byte[] imageBytes = Files.readAllBytes(filePath);
             
-            // 根据文件名获取Content-Type
-            String contentType = getImageContentType(file.getName());
+            // 优先从缓存读取，未命中时读取文件并放入缓存
+            if (icon == null) {
+                icon = iconCache.get(relativePath, filePath,
+                        getImageContentType(filePath.getFileName().toString()));
+            }
+            if (icon == null) {
+                logger.warn("图标文件不存在: {}", filePath.toAbsolutePath());
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
             
+            // 条件请求命中时直接返回304
+            if (new ServletWebRequest(request, response).checkNotModified(icon.getEtag(), icon.getLastModified())) {
+                return;
+            }
             
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(imageBytes);
+            response.setContentType(icon.getContentType());
+            response.setContentLength(icon.getLength());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, ICON_CACHE_CONTROL.getHeaderValue());
+            if ("HEAD".equalsIgnoreCase(request.getMethod())) {
+                return;
+            }
+            Channels.newChannel(response.getOutputStream()).write(icon.getContent());
                     
         } catch (IOException e) {
             logger.error("读取图标文件失败", e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         }
     }
     
+    /**
+     * 图标缓存统计（需要管理员权限）
+     */
+    @RequireAdmin
+    @GetMapping("/icon-cache/stats")
+    public Result<Map<String, Object>> getIconCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hitCount", iconCache.getHitCount());
+        stats.put("missCount", iconCache.getMissCount());
+        stats.put("evictionCount", iconCache.getEvictionCount());
+        stats.put("entryCount", iconCache.getEntryCount());
+        stats.put("sizeBytes", iconCache.getSizeBytes());
+        stats.put("maxBytes", iconCache.getMaxBytes());
+        return Result.success(stats);
+    }
+    
     // ==================== 私有工具方法 ====================
     
     /**
@@ -0,0 +1,32 @@
+package com.company.tooldashboard.controller;
+
+import com.company.tooldashboard.common.Result;
+import com.company.tooldashboard.dto.SearchResultDTO;
+import com.company.tooldashboard.service.SearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 全文搜索控制器
+ */
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+    
+    @Autowired
+    private SearchIndex searchIndex;
+    
+    /**
+     * 搜索工具、文件和变更日志（公开接口）
+     * 结果按相关度从高到低排序，type 可选 tool/file/changelog
+     */
+    @GetMapping
+    public Result<List<SearchResultDTO>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "20") Integer limit) {
+        return Result.success(searchIndex.search(q, type, limit));
+    }
+}
@@ -40,7 +40,7 @@ public class ToolController {
      */
     @GetMapping("/list")
     public Result<List<Tool>> getToolList() {
-        List<Tool> list = toolService.list();
+        List<Tool> list = toolService.getAllTools();
         return Result.success(list);
     }
     
@@ -68,7 +68,7 @@ public class ToolController {
     @RequireAdmin
     @PostMapping
     public Result<Void> addTool(@Valid @RequestBody Tool tool) {
-        toolService.save(tool);
+        toolService.addTool(tool);
         return Result.success();
     }
     
@@ -79,7 +79,7 @@ public class ToolController {
     @PutMapping("/{id}")
     public Result<Void> updateTool(@PathVariable Long id, @Valid @RequestBody Tool tool) {
         tool.setId(id);
-        toolService.updateById(tool);
+        toolService.updateTool(tool);
         return Result.success();
     }
     
@@ -89,7 +89,7 @@ public class ToolController {
     @RequireAdmin
     @DeleteMapping("/{id}")
     public Result<Void> deleteTool(@PathVariable Long id) {
-        toolService.removeById(id);
+        toolService.deleteTool(id);
         return Result.success();
     }
     
@@ -0,0 +1,31 @@
+package com.company.tooldashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量上传结果DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUploadResultDTO {
+    
+    /**
+     * 每个文件的上传结果（与请求中的文件顺序一致）
+     */
+    private List<FileUploadResultDTO> results;
+    
+    /**
+     * 成功数量
+     */
+    private Integer successCount;
+    
+    /**
+     * 失败数量
+     */
+    private Integer failureCount;
+}
@@ -0,0 +1,34 @@
+package com.company.tooldashboard.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 游标分页结果DTO
+ * 按上一页最后一条记录的位置继续查询，不使用 OFFSET，翻到多深查询代价都相同
+ */
+@Data
+public class CursorPage<T> {
+    
+    /**
+     * 当前页记录
+     */
+    private List<T> records = new ArrayList<>();
+    
+    /**
+     * 下一页游标，没有更多记录时为null
+     */
+    private String nextCursor;
+    
+    /**
+     * 是否还有更多记录
+     */
+    private boolean hasMore;
+    
+    /**
+     * 总记录数，只在请求 withTotal=true 时返回，否则为null
+     */
+    private Long total;
+}
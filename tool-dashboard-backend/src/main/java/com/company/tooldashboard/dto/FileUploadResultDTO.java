@@ -0,0 +1,35 @@
+package com.company.tooldashboard.dto;
+
+import com.company.tooldashboard.entity.ToolFile;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 单个文件上传结果DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileUploadResultDTO {
+    
+    /**
+     * 文件原始名称
+     */
+    private String originalName;
+    
+    /**
+     * 是否上传成功
+     */
+    private Boolean success;
+    
+    /**
+     * 失败原因
+     */
+    private String message;
+    
+    /**
+     * 上传成功后的文件信息
+     */
+    private ToolFile file;
+}
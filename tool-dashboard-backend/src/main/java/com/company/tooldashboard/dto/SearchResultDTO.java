@@ -0,0 +1,49 @@
+package com.company.tooldashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 搜索结果DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    
+    /**
+     * 结果类型（tool/file/changelog）
+     */
+    private String type;
+    
+    /**
+     * 记录ID（工具ID/文件ID/变更日志ID）
+     */
+    private Long id;
+    
+    /**
+     * 所属工具ID
+     */
+    private Long toolId;
+    
+    /**
+     * 标题（工具名称/文件原始名称/变更类型）
+     */
+    private String title;
+    
+    /**
+     * 摘要（描述/变更内容，超长时截断）
+     */
+    private String summary;
+    
+    /**
+     * 版本号
+     */
+    private String version;
+    
+    /**
+     * 相关度得分，越大越相关
+     */
+    private double score;
+}
@@ -0,0 +1,114 @@
+package com.company.tooldashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 分片上传会话DTO
+ * 同时作为会话状态持久化到磁盘，服务重启后可继续上传
+ */
+@Data
+public class UploadSessionDTO {
+    
+    /**
+     * 会话ID
+     */
+    private String sessionId;
+    
+    /**
+     * 关联工具ID
+     */
+    private Long toolId;
+    
+    /**
+     * 版本号
+     */
+    private String version;
+    
+    /**
+     * 架构类型
+     */
+    private String architecture;
+    
+    /**
+     * 文件说明
+     */
+    private String description;
+    
+    /**
+     * 上传者
+     */
+    private String uploader;
+    
+    /**
+     * 文件原始名称
+     */
+    private String originalName;
+    
+    /**
+     * 文件类型
+     */
+    private String contentType;
+    
+    /**
+     * 文件总大小（字节）
+     */
+    private Long fileSize;
+    
+    /**
+     * 目标文件路径（URL格式）
+     */
+    private String filePath;
+    
+    /**
+     * 已接收字节数
+     */
+    private Long receivedBytes = 0L;
+    
+    /**
+     * 已接收的字节区间，按起始位置排序，每项为 [start, end)
+     */
+    private List<long[]> receivedRanges = new ArrayList<>();
+    
+    /**
+     * 创建时间戳（毫秒）
+     */
+    private Long createTime;
+    
+    /**
+     * 最后更新时间戳（毫秒）
+     */
+    private Long updateTime;
+    
+    /**
+     * 会话锁（记录已接收区间时持有，持锁期间有磁盘I/O），不序列化
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient ReentrantLock lock = new ReentrantLock();
+    
+    /**
+     * 临时文件读写锁：写入分片时持有读锁（多个分片可并行写入），
+     * 完成、取消时持有写锁，等待进行中的分片写完，之后到达的分片不再写入，不序列化
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient ReentrantReadWriteLock partLock = new ReentrantReadWriteLock();
+    
+    /**
+     * 会话是否已进入完成或取消流程（只在持有 partLock 时读写），不序列化
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient boolean closed;
+}
@@ -0,0 +1,35 @@
+package com.company.tooldashboard.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 已撤销token实体类（多实例共享的登出记录）
+ */
+@Data
+@TableName("tb_revoked_token")
+public class RevokedToken {
+    
+    /**
+     * 主键ID，单调递增，各节点据此增量同步
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    /**
+     * token的SHA-256摘要
+     */
+    private String tokenDigest;
+    
+    /**
+     * token过期时间，过期后记录可清理
+     */
+    private LocalDateTime expireTime;
+    
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+}
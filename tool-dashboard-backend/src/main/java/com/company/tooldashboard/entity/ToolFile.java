@@ -31,10 +31,15 @@ public class ToolFile {
     private String originalName;
     
     /**
-     * 文件路径
+     * 文件路径（逻辑路径，用于按路径下载和按目录删除）
      */
     private String filePath;
     
+    /**
+     * 文件内容SHA-256哈希（内容寻址存储模式下有值，内容按哈希定位；为空时按文件路径读取）
+     */
+    private String contentHash;
+    
     /**
      * 文件大小（字节）
      */
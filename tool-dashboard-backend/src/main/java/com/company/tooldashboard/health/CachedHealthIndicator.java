@@ -0,0 +1,92 @@
+package com.company.tooldashboard.health;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带缓存的健康检查
+ * 每项检查由自己的健康检查线程定时执行，探针请求直接返回上次的结果，不做任何I/O，
+ * 探针频率再高也不会给磁盘和数据库增加压力。
+ * 检查线程不注册为 Spring Bean：容器中的 TaskScheduler Bean 会顶替 @Scheduled 默认的调度器，
+ * 使所有定时任务挤在健康检查线程上；独立线程也保证某项检查卡住时不影响其他检查和定时任务。
+ * 检查本身卡住（如数据库无响应、磁盘I/O挂起）超过 health.stale-after 时返回 OUT_OF_SERVICE
+ */
+public abstract class CachedHealthIndicator implements HealthIndicator {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Value("${health.check-interval:10000}")
+    private long checkInterval;
+
+    @Value("${health.stale-after:30000}")
+    private long staleAfter;
+
+    private volatile Health lastHealth = Health.unknown().withDetail("message", "尚未完成首次检查").build();
+
+    /**
+     * 上次检查完成的时间（毫秒时间戳），首次检查完成前为创建时间
+     */
+    private volatile long lastCheckedAt = System.currentTimeMillis();
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void startChecks() {
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("health-check-" + getClass().getSimpleName()).daemon(true).factory());
+        executor.scheduleWithFixedDelay(this::refresh, 0, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopChecks() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public Health health() {
+        Health health = lastHealth;
+        long age = System.currentTimeMillis() - lastCheckedAt;
+        if (age > staleAfter) {
+            return Health.outOfService()
+                    .withDetails(health.getDetails())
+                    .withDetail("error", "检查超过 " + age + "ms 未完成")
+                    .build();
+        }
+        return health;
+    }
+
+    /**
+     * 执行一次检查，只在健康检查线程中调用
+     */
+    protected abstract Health check() throws Exception;
+
+    private void refresh() {
+        Health health;
+        try {
+            health = check();
+        } catch (Exception e) {
+            health = Health.down(e).build();
+        }
+        Status previous = lastHealth.getStatus();
+        lastHealth = health;
+        lastCheckedAt = System.currentTimeMillis();
+        if (health.getStatus().equals(previous)) {
+            return;
+        }
+        if (!Status.UP.equals(health.getStatus())) {
+            logger.warn("健康检查状态变为 {}: {}", health.getStatus(), health.getDetails());
+        } else if (!Status.UNKNOWN.equals(previous)) {
+            logger.info("健康检查恢复正常: {}", health.getDetails());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.company.tooldashboard.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 数据库健康检查（database），代替 Spring Boot 自带的 db 检查
+ * 记录从连接池取连接的耗时和 SELECT 1 的往返耗时，以及连接池中等待连接的线程数。
+ * 无法执行查询时为 DOWN；往返耗时或等待线程数超出阈值时为 OUT_OF_SERVICE
+ */
+@Component
+public class DatabaseHealthIndicator extends CachedHealthIndicator {
+
+    private static final String VALIDATION_QUERY = "SELECT 1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${health.database.max-latency:500}")
+    private long maxLatency;
+
+    @Value("${health.database.max-pending-threads:10}")
+    private int maxPendingThreads;
+
+    @Override
+    protected Health check() throws SQLException {
+        Map<String, Object> details = new LinkedHashMap<>();
+        Status status = Status.UP;
+
+        // 先读取连接池状态：连接池耗尽时下面取连接会一直等到超时
+        HikariPoolMXBean pool = getPoolMXBean();
+        if (pool != null) {
+            int pending = pool.getThreadsAwaitingConnection();
+            details.put("activeConnections", pool.getActiveConnections());
+            details.put("idleConnections", pool.getIdleConnections());
+            details.put("pendingThreads", pending);
+            if (pending > maxPendingThreads) {
+                status = Status.OUT_OF_SERVICE;
+                details.put("error", "等待数据库连接的线程数超过 " + maxPendingThreads);
+            }
+        }
+
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            long acquired = System.nanoTime();
+            statement.setQueryTimeout((int) Math.max(1, maxLatency * 2 / 1000));
+            statement.execute(VALIDATION_QUERY);
+            long latency = (System.nanoTime() - acquired) / 1_000_000;
+            details.put("acquireMs", (acquired - start) / 1_000_000);
+            details.put("latencyMs", latency);
+            if (latency > maxLatency) {
+                status = Status.OUT_OF_SERVICE;
+                details.put("error", "数据库往返耗时超过 " + maxLatency + "ms");
+            }
+        }
+        return Health.status(status).withDetails(details).build();
+    }
+
+    private HikariPoolMXBean getPoolMXBean() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return null;
+        }
+        // 连接池尚未初始化时为 null
+        return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+    }
+}
@@ -0,0 +1,33 @@
+package com.company.tooldashboard.health;
+
+import com.company.tooldashboard.service.FileDownloadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 下载并发健康检查（download）
+ * 每个流式下载在传输期间占用一个Tomcat工作线程（sendfile 由Tomcat后台发送，不占用），
+ * 正在流式写出的下载数超过阈值时为 OUT_OF_SERVICE，避免工作线程被下载占满后其他接口无法响应。
+ * 只读取内存计数，不需要缓存
+ */
+@Component
+public class DownloadHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private FileDownloadService fileDownloadService;
+
+    @Value("${health.download.max-active-streams:150}")
+    private int maxActiveStreams;
+
+    @Override
+    public Health health() {
+        int active = fileDownloadService.getActiveStreamCount();
+        Health.Builder builder = active > maxActiveStreams ? Health.outOfService() : Health.up();
+        return builder.withDetail("activeStreams", active)
+                .withDetail("maxActiveStreams", maxActiveStreams)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.company.tooldashboard.health;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 上传存储健康检查（uploadStorage）
+ * 检查上传目录所在磁盘的剩余空间与写入延迟，以及 multipart 临时目录是否可写、剩余空间是否充足
+ * （大于 file-size-threshold 的上传文件先落到该目录，可能与上传目录不在同一块磁盘上）。
+ * 目录不可写时为 DOWN；剩余空间或写入延迟超出阈值时为 OUT_OF_SERVICE
+ */
+@Component
+public class UploadStorageHealthIndicator extends CachedHealthIndicator {
+
+    /**
+     * 与 FileStorageService 的临时目录一致，启动时会清理其中的残留文件
+     */
+    private static final String TEMP_DIR = ".tmp";
+
+    private static final int PROBE_SIZE = 4096;
+
+    @Value("${file.upload-path}")
+    private String uploadPath;
+
+    @Value("${spring.servlet.multipart.location:}")
+    private String multipartLocation;
+
+    @Value("${health.upload-storage.min-free-space:5368709120}")
+    private long minFreeSpace;
+
+    @Value("${health.upload-storage.max-write-latency:1000}")
+    private long maxWriteLatency;
+
+    @Override
+    protected Health check() throws IOException {
+        Path uploadDir = Paths.get(uploadPath);
+        Map<String, Object> details = new LinkedHashMap<>();
+        Status status = Status.UP;
+
+        Map<String, Object> upload = new LinkedHashMap<>();
+        long writeLatency = measureWriteLatency(uploadDir.resolve(TEMP_DIR));
+        upload.put("writeLatencyMs", writeLatency);
+        if (writeLatency > maxWriteLatency) {
+            status = Status.OUT_OF_SERVICE;
+            upload.put("error", "写入延迟超过 " + maxWriteLatency + "ms");
+        }
+        status = checkFreeSpace(uploadDir, upload, status);
+        details.put("upload", upload);
+
+        if (StringUtils.hasText(multipartLocation)) {
+            Path multipartDir = Paths.get(multipartLocation);
+            Map<String, Object> multipart = new LinkedHashMap<>();
+            if (!Files.isDirectory(multipartDir) || !Files.isWritable(multipartDir)) {
+                multipart.put("error", "临时目录不存在或不可写");
+                details.put("multipart", multipart);
+                return Health.down().withDetails(details).build();
+            }
+            status = checkFreeSpace(multipartDir, multipart, status);
+            details.put("multipart", multipart);
+        }
+
+        details.put("minFreeBytes", minFreeSpace);
+        return Health.status(status).withDetails(details).build();
+    }
+
+    private Status checkFreeSpace(Path dir, Map<String, Object> details, Status status) throws IOException {
+        FileStore store = Files.getFileStore(dir);
+        long free = store.getUsableSpace();
+        details.put("freeBytes", free);
+        details.put("totalBytes", store.getTotalSpace());
+        if (free < minFreeSpace) {
+            details.put("error", "剩余空间不足");
+            return Status.OUT_OF_SERVICE;
+        }
+        return status;
+    }
+
+    /**
+     * 写入一个小文件并刷盘，返回耗时（毫秒）；目录不可写时抛出异常（DOWN）
+     */
+    private long measureWriteLatency(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Path probe = Files.createTempFile(dir, "health-", ".tmp");
+        try {
+            long start = System.nanoTime();
+            try (FileChannel channel = FileChannel.open(probe, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(PROBE_SIZE);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            return (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            Files.deleteIfExists(probe);
+        }
+    }
+}
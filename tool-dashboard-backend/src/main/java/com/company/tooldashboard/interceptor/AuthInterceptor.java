@@ -1,8 +1,13 @@
 package com.company.tooldashboard.interceptor;
 
 import com.company.tooldashboard.annotation.RequireAdmin;
+import com.company.tooldashboard.config.MetricsConfig;
 import com.company.tooldashboard.service.TokenBlacklistService;
 import com.company.tooldashboard.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -26,6 +31,9 @@ public class AuthInterceptor implements HandlerInterceptor {
     @Autowired
     private TokenBlacklistService tokenBlacklistService;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         // OPTIONS 请求直接放行（CORS 预检）
@@ -47,9 +55,12 @@ public class AuthInterceptor implements HandlerInterceptor {
             return true;
         }
         
+        Timer.Sample sample = Timer.start(meterRegistry);
+        
         // 验证 Authorization 头
         String token = request.getHeader("Authorization");
         if (token == null || !token.startsWith("Bearer ")) {
+            recordCheck(sample, "missing");
             logger.warn("未授权访问: {} {}", request.getMethod(), request.getRequestURI());
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json;charset=UTF-8");
@@ -62,6 +73,7 @@ public class AuthInterceptor implements HandlerInterceptor {
         
         // 检查 token 是否已失效
         if (tokenBlacklistService.isBlacklisted(token)) {
+            recordCheck(sample, "revoked");
             logger.warn("使用已失效的token访问: {} {}", request.getMethod(), request.getRequestURI());
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json;charset=UTF-8");
@@ -69,8 +81,12 @@ public class AuthInterceptor implements HandlerInterceptor {
             return false;
         }
         
-        // 验证 token 有效性
-        if (!jwtUtil.validateToken(token)) {
+        // 验证 token 有效性（每个请求只解析一次，结果供后续处理复用）
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            recordCheck(sample, "invalid");
             logger.warn("token验证失败: {} {}", request.getMethod(), request.getRequestURI());
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json;charset=UTF-8");
@@ -78,10 +94,18 @@ public class AuthInterceptor implements HandlerInterceptor {
             return false;
         }
         
-        // 将用户名存入请求属性，供后续使用
-        String username = jwtUtil.getUsernameFromToken(token);
-        request.setAttribute("username", username);
+        // 将解析结果和用户名存入请求属性，供后续使用
+        request.setAttribute(JwtUtil.CLAIMS_ATTRIBUTE, claims);
+        request.setAttribute("username", claims.getSubject());
+        recordCheck(sample, "success");
         
         return true;
     }
+    
+    /**
+     * 记录权限校验耗时与结果
+     */
+    private void recordCheck(Timer.Sample sample, String result) {
+        sample.stop(Timer.builder(MetricsConfig.AUTH_CHECKS).tag("result", result).register(meterRegistry));
+    }
 }
@@ -0,0 +1,112 @@
+package com.company.tooldashboard.interceptor;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.company.tooldashboard.config.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据库操作计时拦截器（MyBatis插件）
+ * 在 StatementHandler 上计时，只统计SQL实际执行（含结果集映射）的耗时，不含取连接的等待时间
+ * （连接池等待见 hikaricp.connections.acquire）；按 Mapper 与方法打标签，标签组合数量与 Mapper 方法数一致
+ *
+ * 批量执行（BATCH 执行器）时 StatementHandler.batch 只调用 addBatch()，SQL 在 Executor.flushStatements 中才真正执行，
+ * 因此批量语句在 flushStatements 上计时，每次刷新记录一次；一次刷新包含多个语句时，各语句记录的都是整批耗时
+ */
+@Component
+@Intercepts({
+    @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+    @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+    @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * key: MappedStatement ID + 结果
+     */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (invocation.getTarget() instanceof Executor) {
+            return interceptFlush(invocation);
+        }
+        StatementHandler handler = PluginUtils.realTarget(invocation.getTarget());
+        String statementId = PluginUtils.mpStatementHandler(handler).mappedStatement().getId();
+        long start = System.nanoTime();
+        String result = "success";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            result = "failure";
+            throw e;
+        } finally {
+            getTimer(statementId, result).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 批量语句计时：按刷新结果中的 MappedStatement 记录，没有待执行的批量语句时不记录
+     */
+    private Object interceptFlush(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            @SuppressWarnings("unchecked")
+            List<BatchResult> results = (List<BatchResult>) invocation.proceed();
+            recordBatch(results, "success", System.nanoTime() - start);
+            return results;
+        } catch (BatchExecutorException e) {
+            long elapsed = System.nanoTime() - start;
+            recordBatch(e.getSuccessfulBatchResults(), "success", elapsed);
+            getTimer(e.getFailingStatementId(), "failure").record(elapsed, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private void recordBatch(List<BatchResult> results, String result, long elapsedNanos) {
+        Set<String> statementIds = new LinkedHashSet<>();
+        for (BatchResult batchResult : results) {
+            statementIds.add(batchResult.getMappedStatement().getId());
+        }
+        for (String statementId : statementIds) {
+            getTimer(statementId, result).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * MappedStatement ID 形如 com.company.tooldashboard.mapper.ToolFileMapper.selectList
+     */
+    private Timer getTimer(String statementId, String result) {
+        return timers.computeIfAbsent(statementId + "#" + result, key -> {
+            int methodIndex = statementId.lastIndexOf('.');
+            String mapperName = statementId.substring(0, Math.max(methodIndex, 0));
+            return Timer.builder(MetricsConfig.DB_OPERATIONS)
+                    .tag("mapper", mapperName.substring(mapperName.lastIndexOf('.') + 1))
+                    .tag("method", statementId.substring(methodIndex + 1))
+                    .tag("result", result)
+                    .register(meterRegistry);
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.company.tooldashboard.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.company.tooldashboard.entity.RevokedToken;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已撤销token Mapper接口
+ */
+@Mapper
+public interface RevokedTokenMapper extends BaseMapper<RevokedToken> {
+    
+    /**
+     * 记录已撤销的token，同一token重复撤销时忽略
+     */
+    @Insert("INSERT IGNORE INTO tb_revoked_token (token_digest, expire_time, create_time) "
+            + "VALUES (#{tokenDigest}, #{expireTime}, NOW())")
+    int insertIgnore(@Param("tokenDigest") String tokenDigest, @Param("expireTime") LocalDateTime expireTime);
+}
@@ -3,10 +3,18 @@ package com.company.tooldashboard.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.company.tooldashboard.entity.ToolFile;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
 
 /**
  * 工具文件Mapper接口
  */
 @Mapper
 public interface ToolFileMapper extends BaseMapper<ToolFile> {
+    
+    /**
+     * 原子增加下载次数
+     */
+    @Update("UPDATE tb_tool_file SET download_count = COALESCE(download_count, 0) + #{delta} WHERE id = #{id}")
+    int increaseDownloadCount(@Param("id") Long id, @Param("delta") long delta);
 }
@@ -2,6 +2,7 @@ package com.company.tooldashboard.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.company.tooldashboard.dto.CursorPage;
 import com.company.tooldashboard.entity.ChangeLog;
 
 import java.util.List;
@@ -20,4 +21,26 @@ public interface ChangeLogService extends IService<ChangeLog> {
      * 分页查询变更日志
      */
     Page<ChangeLog> getLogPage(Integer pageNum, Integer pageSize, Long toolId);
+    
+    /**
+     * 游标分页查询变更日志（按变更时间倒序）
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param withTotal 是否同时查询总记录数
+     */
+    CursorPage<ChangeLog> getLogCursorPage(String cursor, Integer size, Long toolId, boolean withTotal);
+    
+    /**
+     * 新增变更日志
+     */
+    void addChangeLog(ChangeLog changeLog);
+    
+    /**
+     * 更新变更日志
+     */
+    void updateChangeLog(ChangeLog changeLog);
+    
+    /**
+     * 删除变更日志
+     */
+    void deleteChangeLog(Long id);
 }
@@ -0,0 +1,431 @@
+package com.company.tooldashboard.service;
+
+import com.company.tooldashboard.config.MetricsConfig;
+import com.company.tooldashboard.dto.UploadSessionDTO;
+import com.company.tooldashboard.entity.ToolFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 分片上传服务
+ * 支持大文件断点续传：初始化会话 → 按偏移量上传分片 → 查询已接收区间 → 完成
+ *
+ * 初始化时按文件总大小预分配临时文件，分片直接写入临时文件的对应位置，
+ * 完成时在同一文件系统内移入存储（见 FileStorageService），整个过程文件内容只写入一次。
+ * 会话状态保存在上传目录下的 .upload-sessions 目录中，服务重启后可继续上传
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final String SESSION_DIR = ".upload-sessions";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${file.upload-path}")
+    private String uploadPath;
+
+    @Value("${file.chunked-upload.max-chunk-size:67108864}")
+    private long maxChunkSize;
+
+    @Value("${file.chunked-upload.session-ttl:86400000}")
+    private long sessionTtl;
+
+    @Autowired
+    private FileManagementService fileManagementService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 进行中的上传会话
+     * key: 会话ID
+     */
+    private final Map<String, UploadSessionDTO> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 启动时恢复未完成的上传会话
+     */
+    @PostConstruct
+    public void restoreSessions() {
+        Path sessionDir = getSessionDir();
+        if (!Files.isDirectory(sessionDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(sessionDir, "*.json")) {
+            for (Path metaPath : stream) {
+                try {
+                    UploadSessionDTO session = objectMapper.readValue(metaPath.toFile(), UploadSessionDTO.class);
+                    if (session.getSessionId() != null && Files.exists(getPartPath(session.getSessionId()))) {
+                        sessions.put(session.getSessionId(), session);
+                    } else {
+                        Files.deleteIfExists(metaPath);
+                    }
+                } catch (IOException e) {
+                    logger.warn("恢复分片上传会话失败: {}", metaPath, e);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("读取分片上传会话目录失败: {}", sessionDir, e);
+        }
+        if (!sessions.isEmpty()) {
+            logger.info("已恢复 {} 个未完成的分片上传会话", sessions.size());
+        }
+    }
+
+    /**
+     * 初始化上传会话
+     */
+    public UploadSessionDTO createSession(Long toolId, String fileName, Long fileSize, String version,
+                                          String architecture, String description, String uploader,
+                                          String contentType) {
+        if (fileSize == null || fileSize <= 0) {
+            throw new RuntimeException("文件大小必须大于0");
+        }
+
+        // 校验工具与版本号、创建目标目录
+        ToolFile target = fileManagementService.prepareUpload(toolId, version, architecture, fileName);
+        if (fileStorageService.exists(target.getFilePath())) {
+            throw new RuntimeException("文件已存在: " + target.getFileName());
+        }
+        for (UploadSessionDTO existing : sessions.values()) {
+            if (target.getFilePath().equals(existing.getFilePath())) {
+                throw new RuntimeException("该文件正在上传中，会话ID: " + existing.getSessionId());
+            }
+        }
+
+        UploadSessionDTO session = new UploadSessionDTO();
+        session.setSessionId(UUID.randomUUID().toString().replace("-", ""));
+        session.setToolId(toolId);
+        session.setVersion(version);
+        session.setArchitecture(architecture);
+        session.setDescription(description);
+        session.setUploader(uploader);
+        session.setOriginalName(target.getOriginalName());
+        session.setContentType(contentType);
+        session.setFileSize(fileSize);
+        session.setFilePath(target.getFilePath());
+        session.setCreateTime(System.currentTimeMillis());
+        session.setUpdateTime(session.getCreateTime());
+
+        try {
+            Files.createDirectories(getSessionDir());
+            // 预分配临时文件
+            try (RandomAccessFile partFile = new RandomAccessFile(getPartPath(session.getSessionId()).toFile(), "rw")) {
+                partFile.setLength(fileSize);
+            }
+            saveSession(session);
+        } catch (IOException e) {
+            deleteSessionFiles(session.getSessionId());
+            logger.error("创建分片上传会话失败 - 工具ID: {}, 原因: {}", toolId, e.getMessage(), e);
+            throw new RuntimeException("创建上传会话失败：" + e.getMessage());
+        }
+
+        sessions.put(session.getSessionId(), session);
+        logger.info("创建分片上传会话 - 会话ID: {}, 文件: {}, 大小: {} bytes",
+                   session.getSessionId(), session.getFilePath(), fileSize);
+        return session;
+    }
+
+    /**
+     * 写入分片
+     * 连接中断时已写入的部分同样会被记录，客户端可查询已接收区间后从断点继续
+     *
+     * @param offset 分片在文件中的起始位置
+     * @param length 分片长度（Content-Length）
+     * @param input 分片数据
+     */
+    public UploadSessionDTO writeChunk(String sessionId, long offset, long length, InputStream input) {
+        UploadSessionDTO session = requireSession(sessionId);
+        if (length < 0) {
+            throw new RuntimeException("缺少 Content-Length 请求头");
+        }
+        if (length > maxChunkSize) {
+            throw new RuntimeException("分片大小不能超过 " + maxChunkSize + " 字节");
+        }
+        if (offset < 0 || offset + length > session.getFileSize()) {
+            throw new RuntimeException("分片区间超出文件范围");
+        }
+
+        // 持有读锁直到区间记录完成：完成上传时计算哈希、移动临时文件的过程中不会再有分片写入
+        Lock partLock = session.getPartLock().readLock();
+        partLock.lock();
+        try {
+            if (session.isClosed()) {
+                throw new RuntimeException("上传会话不存在或已结束: " + sessionId);
+            }
+            writeToPart(session, offset, length, input);
+        } finally {
+            partLock.unlock();
+        }
+        return session;
+    }
+
+    /**
+     * 将分片写入临时文件并记录已接收区间，调用方必须持有会话的 partLock 读锁
+     */
+    private void writeToPart(UploadSessionDTO session, long offset, long length, InputStream input) {
+        String sessionId = session.getSessionId();
+        long written = 0;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (FileChannel channel = FileChannel.open(getPartPath(sessionId), StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(length, 1))];
+            while (written < length) {
+                int read = input.read(buffer, 0, (int) Math.min(buffer.length, length - written));
+                if (read < 0) {
+                    break;
+                }
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                long position = offset + written;
+                while (byteBuffer.hasRemaining()) {
+                    position += channel.write(byteBuffer, position);
+                }
+                written += read;
+            }
+        } catch (IOException e) {
+            logger.warn("分片写入中断 - 会话ID: {}, 偏移量: {}, 已写入: {} bytes, 原因: {}",
+                       sessionId, offset, written, e.getMessage());
+        } finally {
+            if (written > 0) {
+                recordRange(session, offset, offset + written);
+            }
+            meterRegistry.counter(MetricsConfig.UPLOAD_BYTES, "type", "chunk").increment(written);
+            sample.stop(meterRegistry.timer(MetricsConfig.UPLOAD_DURATION, "type", "chunk",
+                    "result", written == length ? "success" : "failure"));
+        }
+
+        if (written < length) {
+            throw new RuntimeException("分片数据不完整，已接收 " + written + " / " + length + " 字节");
+        }
+    }
+
+    /**
+     * 进行中的上传会话数
+     */
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * 查询上传会话（包含已接收区间）
+     */
+    public UploadSessionDTO getSession(String sessionId) {
+        return requireSession(sessionId);
+    }
+
+    /**
+     * 完成上传：校验所有分片已接收，将临时文件移动到目标位置并保存文件信息
+     */
+    public ToolFile completeSession(String sessionId) {
+        UploadSessionDTO session = requireSession(sessionId);
+        // 写锁等待进行中的分片写完，持锁期间不会有新的分片写入
+        Lock partLock = session.getPartLock().writeLock();
+        partLock.lock();
+        try {
+            if (session.isClosed()) {
+                throw new RuntimeException("上传会话不存在或已结束: " + sessionId);
+            }
+            if (session.getReceivedBytes() < session.getFileSize()) {
+                throw new RuntimeException("文件尚未上传完整，已接收 " + session.getReceivedBytes()
+                        + " / " + session.getFileSize() + " 字节");
+            }
+
+            // 重新校验工具与版本号
+            ToolFile toolFile = fileManagementService.prepareUpload(session.getToolId(), session.getVersion(),
+                    session.getArchitecture(), session.getOriginalName());
+            if (fileStorageService.exists(toolFile.getFilePath())) {
+                throw new RuntimeException("文件已存在: " + toolFile.getFileName());
+            }
+
+            // 移动临时文件前标记为已结束，释放写锁后到达的分片直接拒绝，不会写入已移走的文件
+            session.setClosed(true);
+            Path partPath = getPartPath(sessionId);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                try (FileChannel channel = FileChannel.open(partPath, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                toolFile.setContentHash(fileStorageService.storeFile(partPath, toolFile.getFilePath()));
+                sample.stop(meterRegistry.timer(MetricsConfig.UPLOAD_DURATION, "type", "complete", "result", "success"));
+            } catch (IOException e) {
+                // 临时文件仍在原处，会话可以重新完成
+                session.setClosed(false);
+                sample.stop(meterRegistry.timer(MetricsConfig.UPLOAD_DURATION, "type", "complete", "result", "failure"));
+                logger.error("分片上传合并失败 - 会话ID: {}, 原因: {}", sessionId, e.getMessage(), e);
+                throw new RuntimeException("文件上传失败：" + e.getMessage());
+            }
+
+            toolFile.setFileSize(session.getFileSize());
+            toolFile.setFileType(session.getContentType());
+            toolFile.setDescription(session.getDescription());
+            toolFile.setUploader(session.getUploader());
+            try {
+                fileManagementService.saveUploadedFile(toolFile);
+            } catch (RuntimeException e) {
+                // 临时文件已移入存储并随入库失败一起撤销，会话无法继续
+                logger.error("分片上传文件入库失败 - 会话ID: {}, 原因: {}", sessionId, e.getMessage(), e);
+                throw new RuntimeException("文件信息保存失败，请重新上传：" + e.getMessage());
+            } finally {
+                sessions.remove(sessionId);
+                deleteSessionFiles(sessionId);
+            }
+
+            logger.info("分片上传完成 - 会话ID: {}, 文件: {}, 大小: {} bytes",
+                       sessionId, toolFile.getFilePath(), session.getFileSize());
+            return toolFile;
+        } finally {
+            partLock.unlock();
+        }
+    }
+
+    /**
+     * 取消上传会话，删除临时文件
+     */
+    public void abortSession(String sessionId) {
+        UploadSessionDTO session = sessions.remove(sessionId);
+        if (session != null) {
+            Lock partLock = session.getPartLock().writeLock();
+            partLock.lock();
+            try {
+                session.setClosed(true);
+                deleteSessionFiles(sessionId);
+            } finally {
+                partLock.unlock();
+            }
+            logger.info("分片上传会话已取消 - 会话ID: {}", sessionId);
+        }
+    }
+
+    /**
+     * 清理长时间没有进展的上传会话
+     */
+    @Scheduled(fixedDelayString = "${file.chunked-upload.cleanup-interval:3600000}")
+    public void cleanExpiredSessions() {
+        long expireBefore = System.currentTimeMillis() - sessionTtl;
+        for (UploadSessionDTO session : sessions.values()) {
+            if (session.getUpdateTime() < expireBefore) {
+                logger.info("清理过期的分片上传会话 - 会话ID: {}, 文件: {}", session.getSessionId(), session.getFilePath());
+                abortSession(session.getSessionId());
+            }
+        }
+    }
+
+    private UploadSessionDTO requireSession(String sessionId) {
+        UploadSessionDTO session = sessionId == null ? null : sessions.get(sessionId);
+        if (session == null) {
+            throw new RuntimeException("上传会话不存在或已结束: " + sessionId);
+        }
+        return session;
+    }
+
+    /**
+     * 记录已接收区间，合并重叠或相邻的区间并持久化会话状态
+     */
+    private void recordRange(UploadSessionDTO session, long start, long end) {
+        session.getLock().lock();
+        try {
+            List<long[]> merged = new ArrayList<>();
+            long[] current = new long[] {start, end};
+            boolean inserted = false;
+            for (long[] range : session.getReceivedRanges()) {
+                if (range[1] < current[0]) {
+                    merged.add(range);
+                } else if (current[1] < range[0]) {
+                    if (!inserted) {
+                        merged.add(current);
+                        inserted = true;
+                    }
+                    merged.add(range);
+                } else {
+                    current[0] = Math.min(current[0], range[0]);
+                    current[1] = Math.max(current[1], range[1]);
+                }
+            }
+            if (!inserted) {
+                merged.add(current);
+            }
+
+            long receivedBytes = 0;
+            for (long[] range : merged) {
+                receivedBytes += range[1] - range[0];
+            }
+            session.setReceivedRanges(merged);
+            session.setReceivedBytes(receivedBytes);
+            session.setUpdateTime(System.currentTimeMillis());
+
+            if (sessions.containsKey(session.getSessionId())) {
+                try {
+                    saveSession(session);
+                } catch (IOException e) {
+                    logger.warn("保存分片上传会话状态失败 - 会话ID: {}", session.getSessionId(), e);
+                }
+            }
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    /**
+     * 保存会话状态（先写临时文件再替换，避免崩溃时留下不完整的状态文件）
+     */
+    private void saveSession(UploadSessionDTO session) throws IOException {
+        Path metaPath = getMetaPath(session.getSessionId());
+        Path tempPath = metaPath.resolveSibling(metaPath.getFileName() + ".tmp");
+        objectMapper.writeValue(tempPath.toFile(), session);
+        Files.move(tempPath, metaPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteSessionFiles(String sessionId) {
+        try {
+            Files.deleteIfExists(getPartPath(sessionId));
+            Files.deleteIfExists(getMetaPath(sessionId));
+        } catch (IOException e) {
+            logger.warn("删除分片上传临时文件失败 - 会话ID: {}", sessionId, e);
+        }
+    }
+
+    private Path getSessionDir() {
+        return Paths.get(uploadPath, SESSION_DIR);
+    }
+
+    private Path getPartPath(String sessionId) {
+        return getSessionDir().resolve(sessionId + ".part");
+    }
+
+    private Path getMetaPath(String sessionId) {
+        return getSessionDir().resolve(sessionId + ".json");
+    }
+}
@@ -0,0 +1,135 @@
+package com.company.tooldashboard.service;
+
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import com.company.tooldashboard.mapper.ToolFileMapper;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 下载次数计数服务
+ * 下载请求只在内存中累加（每个文件一个 LongAdder，高并发下无锁竞争），
+ * 由定时任务批量执行 download_count = download_count + ? 写回数据库，
+ * 避免每次下载都读改写整行，也不会因并发下载丢失计数
+ */
+@Service
+public class DownloadCountService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DownloadCountService.class);
+    
+    private static final Log batchLog = LogFactory.getLog(DownloadCountService.class);
+    
+    private static final int BATCH_SIZE = 500;
+    
+    /**
+     * 待写回的下载次数
+     * key: 文件ID
+     * value: 尚未写回数据库的增量
+     */
+    private final Map<Long, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+    
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    /**
+     * 记录一次下载
+     */
+    public void increment(Long fileId) {
+        if (fileId == null) {
+            return;
+        }
+        pendingCounts.computeIfAbsent(fileId, id -> new LongAdder()).increment();
+    }
+    
+    /**
+     * 文件删除后丢弃其未写回的计数
+     */
+    public void discard(Long fileId) {
+        if (fileId != null) {
+            pendingCounts.remove(fileId);
+        }
+    }
+    
+    /**
+     * 获取尚未写回数据库的下载次数总和
+     */
+    public long getPendingCount() {
+        long total = 0;
+        for (LongAdder adder : pendingCounts.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+    
+    /**
+     * 将内存中的增量批量写回数据库
+     * 所有批次在同一事务中执行，全部提交或全部回滚；
+     * 写回失败时增量会重新累加到内存中，等待下次重试（已回滚，不会重复计数）
+     */
+    @Scheduled(fixedDelayString = "${file.download-count.flush-interval:5000}")
+    public synchronized void flush() {
+        List<PendingDelta> deltas = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingCounts.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.add(new PendingDelta(entry.getKey(), delta));
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    SqlHelper.executeBatch(sqlSessionFactory, batchLog, deltas, BATCH_SIZE, (sqlSession, delta) ->
+                            sqlSession.getMapper(ToolFileMapper.class).increaseDownloadCount(delta.fileId, delta.delta)));
+            logger.debug("下载次数写回完成 - 文件数: {}", deltas.size());
+        } catch (Exception e) {
+            for (PendingDelta delta : deltas) {
+                pendingCounts.computeIfAbsent(delta.fileId, id -> new LongAdder()).add(delta.delta);
+            }
+            logger.warn("下载次数写回失败，将在下次重试 - 文件数: {}, 原因: {}", deltas.size(), e.getMessage());
+        }
+    }
+    
+    /**
+     * 应用关闭前写回剩余计数
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        long remaining = getPendingCount();
+        if (remaining > 0) {
+            logger.warn("应用关闭时仍有 {} 次下载计数未能写回数据库", remaining);
+        }
+    }
+    
+    /**
+     * 单个文件的待写回增量
+     */
+    private static class PendingDelta {
+        final Long fileId;
+        final long delta;
+        
+        PendingDelta(Long fileId, long delta) {
+            this.fileId = fileId;
+            this.delta = delta;
+        }
+    }
+}
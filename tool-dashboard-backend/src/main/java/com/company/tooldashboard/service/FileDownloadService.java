@@ -0,0 +1,334 @@
+package com.company.tooldashboard.service;
+
+import com.company.tooldashboard.config.MetricsConfig;
+import com.company.tooldashboard.util.CompressionUtil;
+import com.company.tooldashboard.util.HttpRangeUtil;
+import com.company.tooldashboard.util.HttpRangeUtil.ByteRange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文件下载服务
+ * 负责将磁盘文件写入HTTP响应，支持 RFC 7233 Range 请求（断点续传、多线程分段下载），
+ * 以及基于 ETag / Last-Modified 的条件请求（304 Not Modified）；
+ * 文件存在上传后生成的预压缩版本时，按 Accept-Encoding 直接发送压缩版本
+ * 
+ * 完整下载和单区间下载优先交给 Tomcat sendfile 零拷贝发送（内核直接从页缓存写入socket，
+ * 不经过JVM堆，也不占用请求线程），仅在容器不支持或多区间下载时退回缓冲流式写出
+ */
+@Service
+public class FileDownloadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileDownloadService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CRLF = "\r\n";
+
+    /**
+     * Tomcat sendfile 请求属性（对应 org.apache.catalina.Globals 中的常量）
+     */
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_FILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    @Value("${file.download.sendfile-enabled:true}")
+    private boolean sendfileEnabled;
+
+    /**
+     * 小于该大小的文件直接流式写出，sendfile 的额外开销不划算
+     */
+    @Value("${file.download.sendfile-min-size:49152}")
+    private long sendfileMinSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 正在流式写出的下载数
+     */
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    private Counter sendfileBytes;
+
+    private Counter streamBytes;
+
+    private Timer streamTimer;
+
+    @PostConstruct
+    public void initMetrics() {
+        sendfileBytes = Counter.builder(MetricsConfig.DOWNLOAD_SENDFILE_BYTES)
+                .baseUnit("bytes").register(meterRegistry);
+        streamBytes = Counter.builder(MetricsConfig.DOWNLOAD_BYTES).tag("mode", "stream")
+                .baseUnit("bytes").register(meterRegistry);
+        streamTimer = Timer.builder(MetricsConfig.DOWNLOAD_DURATION).register(meterRegistry);
+        Gauge.builder(MetricsConfig.DOWNLOAD_ACTIVE, activeStreams, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * 获取正在流式写出的下载数
+     */
+    public int getActiveStreamCount() {
+        return activeStreams.get();
+    }
+
+    /**
+     * 将文件写入响应（不使用预压缩版本）
+     *
+     * @param request HTTP请求
+     * @param response HTTP响应
+     * @param filePath 文件系统路径
+     * @param fileName 下载时展示的文件名
+     * @param contentHash 文件内容哈希，有值时直接作为 ETag，否则按文件大小与修改时间生成，可为null
+     * @param onNewDownload 本次请求属于一次新的逻辑下载时的回调（完整下载或从第0字节开始的分段），可为null
+     */
+    public void writeFile(HttpServletRequest request, HttpServletResponse response,
+                          Path filePath, String fileName, String contentHash,
+                          Runnable onNewDownload) throws IOException {
+        writeFile(request, response, FilePathCache.Entry.load(filePath, null, fileName, contentHash, null), onNewDownload);
+    }
+
+    /**
+     * 将文件写入响应（使用已读取的文件元数据，不再访问文件属性）
+     *
+     * @param request HTTP请求
+     * @param response HTTP响应
+     * @param file 文件元数据
+     * @param onNewDownload 本次请求属于一次新的逻辑下载时的回调（完整下载或从第0字节开始的分段），可为null
+     */
+    public void writeFile(HttpServletRequest request, HttpServletResponse response,
+                          FilePathCache.Entry file, Runnable onNewDownload) throws IOException {
+        // 存在预压缩版本时，客户端接受 gzip 且不是 Range 请求则直接发送压缩版本
+        // （Range 针对原始内容的字节区间，始终使用原始文件响应）
+        boolean useGzip = file.hasGzipVariant()
+                && request.getHeader(HttpHeaders.RANGE) == null
+                && CompressionUtil.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (file.hasGzipVariant()) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        Path filePath = useGzip ? file.getGzipPath() : file.getFilePath();
+        long fileLength = useGzip ? file.getGzipLength() : file.getLength();
+        long lastModified = useGzip ? file.getGzipLastModified() : file.getLastModified();
+        String contentHash = file.getContentHash();
+        String contentType = StringUtils.hasText(file.getContentType())
+                ? file.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        String etag;
+        if (contentHash != null) {
+            // 不同编码的表示使用不同的强 ETag
+            etag = HttpRangeUtil.buildETag(useGzip ? contentHash + "-gzip" : contentHash);
+        } else {
+            etag = HttpRangeUtil.buildETag(fileLength, lastModified);
+        }
+
+        // 条件请求：If-None-Match / If-Modified-Since 命中时返回304（同时写出 ETag 与 Last-Modified）
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, buildContentDisposition(file.getFileName()));
+        // Content-Type 来自上传时的记录，禁止浏览器按内容嗅探
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        List<ByteRange> ranges = null;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null
+                && HttpRangeUtil.matchesIfRange(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+            ranges = HttpRangeUtil.parseRanges(rangeHeader, fileLength);
+        }
+
+        boolean headRequest = "HEAD".equalsIgnoreCase(request.getMethod());
+
+        // 所有区间均无法满足
+        if (ranges != null && ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileLength);
+            return;
+        }
+
+        // 完整下载
+        if (ranges == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            if (useGzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            response.setContentLengthLong(fileLength);
+            if (headRequest) {
+                return;
+            }
+            notifyNewDownload(onNewDownload);
+            transfer(request, response, filePath, 0, fileLength);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        boolean newDownload = ranges.get(0).getStart() == 0;
+
+        // 单区间
+        if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.toContentRange(fileLength));
+            response.setContentLengthLong(range.getLength());
+            if (headRequest) {
+                return;
+            }
+            if (newDownload) {
+                notifyNewDownload(onNewDownload);
+            }
+            transfer(request, response, filePath, range.getStart(), range.getLength());
+            return;
+        }
+
+        // 多区间：multipart/byteranges
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        long contentLength = 0;
+        for (ByteRange range : ranges) {
+            contentLength += buildPartHeader(boundary, contentType, range, fileLength).length + range.getLength();
+        }
+        byte[] closeDelimiter = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        contentLength += closeDelimiter.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (headRequest) {
+            return;
+        }
+        if (newDownload) {
+            notifyNewDownload(onNewDownload);
+        }
+        OutputStream out = response.getOutputStream();
+        Timer.Sample sample = beginStream();
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            for (ByteRange range : ranges) {
+                out.write(buildPartHeader(boundary, contentType, range, fileLength));
+                copyRange(channel, out, range.getStart(), range.getLength());
+            }
+            out.write(closeDelimiter);
+        } finally {
+            endStream(sample);
+        }
+    }
+
+    /**
+     * 生成 Content-Disposition 响应头，同时设置 filename 和 filename*，支持中文文件名
+     */
+    public String buildContentDisposition(String fileName) {
+        String encodedFilename = URLEncoder.encode(fileName, StandardCharsets.UTF_8)
+                .replace("+", "%20");
+        return String.format(
+            "attachment; filename=\"%s\"; filename*=UTF-8''%s",
+            new String(fileName.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1),
+            encodedFilename
+        );
+    }
+
+    private void notifyNewDownload(Runnable onNewDownload) {
+        if (onNewDownload != null) {
+            onNewDownload.run();
+        }
+    }
+
+    /**
+     * 发送文件的连续区间：容器支持时使用 sendfile 零拷贝，否则退回缓冲流式写出
+     * 调用前必须已设置好状态码与 Content-Length，且尚未写出任何响应体
+     */
+    private void transfer(HttpServletRequest request, HttpServletResponse response,
+                          Path filePath, long start, long length) throws IOException {
+        if (canSendfile(request, length)) {
+            // 由 Tomcat 在 Servlet 返回后通过 sendfile 直接发送，请求线程立即释放
+            request.setAttribute(SENDFILE_FILENAME_ATTR, filePath.toAbsolutePath().normalize().toString());
+            request.setAttribute(SENDFILE_FILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_FILE_END_ATTR, start + length);
+            logger.debug("使用 sendfile 发送文件: {}, 区间: {}-{}", filePath, start, start + length - 1);
+            // 只是交给Tomcat发送，不代表已发送成功
+            sendfileBytes.increment(length);
+            return;
+        }
+        Timer.Sample sample = beginStream();
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            copyRange(channel, response.getOutputStream(), start, length);
+        } finally {
+            endStream(sample);
+        }
+    }
+
+    private Timer.Sample beginStream() {
+        activeStreams.incrementAndGet();
+        return Timer.start(meterRegistry);
+    }
+
+    private void endStream(Timer.Sample sample) {
+        sample.stop(streamTimer);
+        activeStreams.decrementAndGet();
+    }
+
+    private boolean canSendfile(HttpServletRequest request, long length) {
+        return sendfileEnabled
+                && length >= sendfileMinSize
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR));
+    }
+
+    /**
+     * 生成 multipart/byteranges 中每个分段的头部
+     */
+    private byte[] buildPartHeader(String boundary, String contentType, ByteRange range, long fileLength) {
+        String header = CRLF + "--" + boundary + CRLF
+                + HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+                + HttpHeaders.CONTENT_RANGE + ": " + range.toContentRange(fileLength) + CRLF
+                + CRLF;
+        return header.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 将文件指定区间写入输出流（缓冲流式写出，用于无法使用 sendfile 的场景）
+     */
+    private void copyRange(FileChannel channel, OutputStream out, long start, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(length, 1)));
+        long position = start;
+        long remaining = length;
+        while (remaining > 0) {
+            buffer.clear();
+            if (remaining < buffer.capacity()) {
+                buffer.limit((int) remaining);
+            }
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            out.write(buffer.array(), 0, read);
+            streamBytes.increment(read);
+            position += read;
+            remaining -= read;
+        }
+    }
+}
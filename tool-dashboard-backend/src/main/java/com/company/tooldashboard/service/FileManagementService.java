@@ -2,6 +2,8 @@ package com.company.tooldashboard.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.company.tooldashboard.dto.BatchUploadResultDTO;
+import com.company.tooldashboard.dto.CursorPage;
 import com.company.tooldashboard.entity.ToolFile;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -25,6 +27,13 @@ public interface FileManagementService extends IService<ToolFile> {
      */
     Page<ToolFile> getFilePage(Integer pageNum, Integer pageSize, Long toolId);
     
+    /**
+     * 游标分页查询文件列表（按上传时间倒序）
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param withTotal 是否同时查询总记录数
+     */
+    CursorPage<ToolFile> getFileCursorPage(String cursor, Integer size, Long toolId, boolean withTotal);
+    
     /**
      * 上传文件
      */
@@ -32,8 +41,26 @@ public interface FileManagementService extends IService<ToolFile> {
     
     /**
      * 批量上传文件
+     * 整批文件共用一次工具查询与目录解析，并行写盘后一次批量入库，返回每个文件的上传结果
+     */
+    BatchUploadResultDTO uploadFiles(List<MultipartFile> files, Long toolId, String version, String architecture, String description, String uploader);
+
+    /**
+     * 准备上传：校验版本号与工具，返回预填好路径与文件名的文件信息（尚未入库）
+     * 用于分片上传等不经过 MultipartFile 的上传方式
+     */
+    ToolFile prepareUpload(Long toolId, String version, String architecture, String originalFilename);
+    
+    /**
+     * 保存已写入存储的文件信息，并更新版本索引
+     * 入库失败时撤销本次写入的文件内容
+     */
+    ToolFile saveUploadedFile(ToolFile toolFile);
+    
+    /**
+     * 删除文件，同时删除物理文件与数据库记录
      */
-    List<ToolFile> uploadFiles(List<MultipartFile> files, Long toolId, String version, String architecture, String description, String uploader);
+    void deleteFile(Long id);
 
     /**
      * 删除文件夹（根据URL风格的路径前缀），会删除该文件夹下所有文件记录与物理文件
@@ -43,7 +70,7 @@ public interface FileManagementService extends IService<ToolFile> {
     int deleteFolderByUrlPath(String urlPrefixPath);
     
     /**
-     * 增加下载次数
+     * 增加下载次数（内存累加，异步批量写回数据库）
      */
     void increaseDownloadCount(Long fileId);
 }
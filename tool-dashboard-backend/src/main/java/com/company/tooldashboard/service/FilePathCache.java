@@ -0,0 +1,299 @@
+package com.company.tooldashboard.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.company.tooldashboard.entity.ToolFile;
+import com.company.tooldashboard.mapper.ToolFileMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文件路径元数据缓存
+ * 按规范化的逻辑路径（URL格式）缓存按路径下载所需的全部信息：文件系统路径、原始文件名、
+ * 大小、修改时间、Content-Type、内容哈希以及预压缩版本，
+ * 命中时不查询数据库，只对文件做一次 stat 校验大小与修改时间是否变化
+ *
+ * 上传、删除文件后按路径失效；另有TTL兜底，用于多实例部署时同步其他节点的修改
+ */
+@Service
+public class FilePathCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilePathCache.class);
+
+    @Autowired
+    private ToolFileMapper toolFileMapper;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    /**
+     * 最大缓存条目数
+     */
+    @Value("${file.path-cache.max-entries:10000}")
+    private int maxEntries;
+
+    /**
+     * 缓存项最长存活时间（毫秒）
+     */
+    @Value("${file.path-cache.ttl:300000}")
+    private long ttl;
+
+    /**
+     * key: 规范化的逻辑路径
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 按逻辑路径获取文件元数据
+     *
+     * @param urlPath 逻辑路径（URL格式，已解码）
+     * @return 文件元数据，路径非法或文件不存在时返回null
+     */
+    public Entry get(String urlPath) throws IOException {
+        String key = normalize(urlPath);
+        if (key == null) {
+            return null;
+        }
+
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            if (System.currentTimeMillis() - cached.loadTime < ttl && isUnchanged(cached)) {
+                hits.increment();
+                return cached;
+            }
+            entries.remove(key, cached);
+        }
+        misses.increment();
+
+        Entry loaded = load(key);
+        if (loaded != null) {
+            cache(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 使指定路径的缓存失效（上传、删除文件后调用）
+     */
+    public void invalidate(String urlPath) {
+        String key = normalize(urlPath);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * 缓存的文件是否仍然有效：一次 stat 比较大小与修改时间
+     */
+    private boolean isUnchanged(Entry cached) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(cached.filePath, BasicFileAttributes.class);
+            return attributes.isRegularFile()
+                    && attributes.size() == cached.length
+                    && attributes.lastModifiedTime().toMillis() == cached.lastModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 查询文件记录并读取文件属性
+     * 内容寻址存储的文件只能通过记录中的内容哈希定位；没有记录的历史文件直接按逻辑路径定位
+     */
+    private Entry load(String key) throws IOException {
+        LambdaQueryWrapper<ToolFile> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(ToolFile::getId, ToolFile::getFilePath, ToolFile::getContentHash,
+                       ToolFile::getOriginalName, ToolFile::getFileType)
+               .eq(ToolFile::getFilePath, key)
+               .last("LIMIT 1");
+        ToolFile toolFile = toolFileMapper.selectOne(wrapper);
+
+        String fileName = key.substring(key.lastIndexOf('/') + 1);
+        Path filePath;
+        String contentHash = null;
+        String contentType = null;
+        if (toolFile != null) {
+            filePath = fileStorageService.resolve(toolFile);
+            contentHash = toolFile.getContentHash();
+            contentType = toolFile.getFileType();
+            if (toolFile.getOriginalName() != null) {
+                fileName = toolFile.getOriginalName();
+            }
+        } else {
+            filePath = fileStorageService.resolve(key);
+        }
+
+        try {
+            return Entry.load(filePath, fileStorageService.getGzipVariantPath(filePath), fileName, contentHash, contentType);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 放入缓存；达到上限时先清理过期条目，仍然满时不缓存
+     */
+    private void cache(String key, Entry entry) {
+        if (entries.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(value -> now - value.loadTime >= ttl);
+            if (entries.size() >= maxEntries) {
+                logger.debug("文件路径缓存已满，不缓存: {}", key);
+                return;
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    /**
+     * 规范化逻辑路径：统一为正斜杠、去掉开头的斜杠；包含 .. 或空路径段、指向存储内部目录时视为非法路径
+     */
+    private static String normalize(String urlPath) {
+        if (urlPath == null) {
+            return null;
+        }
+        String normalized = urlPath.replace("\\", "/");
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        if (normalized.isEmpty() || normalized.endsWith("/")) {
+            return null;
+        }
+        for (String segment : normalized.split("/")) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+                return null;
+            }
+        }
+        if (FileStorageService.isInternalPath(normalized)) {
+            return null;
+        }
+        return normalized;
+    }
+
+    /**
+     * 文件元数据（不可变）
+     */
+    public static final class Entry {
+
+        private final Path filePath;
+        private final String fileName;
+        private final String contentHash;
+        private final String contentType;
+        private final long length;
+        private final long lastModified;
+        private final Path gzipPath;
+        private final long gzipLength;
+        private final long gzipLastModified;
+        private final long loadTime;
+
+        private Entry(Path filePath, String fileName, String contentHash, String contentType,
+                      BasicFileAttributes attributes, Path gzipPath, BasicFileAttributes gzipAttributes) {
+            this.filePath = filePath;
+            this.fileName = fileName;
+            this.contentHash = contentHash;
+            this.contentType = contentType;
+            this.length = attributes.size();
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.gzipPath = gzipAttributes != null ? gzipPath : null;
+            this.gzipLength = gzipAttributes != null ? gzipAttributes.size() : 0;
+            this.gzipLastModified = gzipAttributes != null ? gzipAttributes.lastModifiedTime().toMillis() : 0;
+            this.loadTime = System.currentTimeMillis();
+        }
+
+        /**
+         * 读取文件及其预压缩版本的属性
+         *
+         * @param filePath 文件系统路径
+         * @param gzipPath 预压缩版本路径（见 FileStorageService#getGzipVariantPath），为null时不使用预压缩版本
+         * @param fileName 下载时展示的文件名
+         * @param contentHash 文件内容哈希，可为null
+         * @param contentType 上传时记录的 Content-Type，可为null
+         * @throws NoSuchFileException 如果文件不存在或不是普通文件
+         */
+        public static Entry load(Path filePath, Path gzipPath, String fileName, String contentHash,
+                                 String contentType) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                throw new NoSuchFileException(filePath.toString());
+            }
+            BasicFileAttributes gzipAttributes = null;
+            if (gzipPath != null) {
+                try {
+                    gzipAttributes = Files.readAttributes(gzipPath, BasicFileAttributes.class);
+                    if (!gzipAttributes.isRegularFile()) {
+                        gzipAttributes = null;
+                    }
+                } catch (NoSuchFileException e) {
+                    // 没有预压缩版本
+                }
+            }
+            return new Entry(filePath, fileName, contentHash, contentType, attributes, gzipPath, gzipAttributes);
+        }
+
+        public Path getFilePath() {
+            return filePath;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public boolean hasGzipVariant() {
+            return gzipPath != null;
+        }
+
+        public Path getGzipPath() {
+            return gzipPath;
+        }
+
+        public long getGzipLength() {
+            return gzipLength;
+        }
+
+        public long getGzipLastModified() {
+            return gzipLastModified;
+        }
+    }
+}
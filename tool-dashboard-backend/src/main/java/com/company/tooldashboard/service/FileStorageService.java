@@ -0,0 +1,526 @@
+package com.company.tooldashboard.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.company.tooldashboard.entity.ToolFile;
+import com.company.tooldashboard.mapper.ToolFileMapper;
+import com.company.tooldashboard.util.CompressionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 工具文件存储服务
+ * 负责工具文件内容的写入、定位与删除，支持两种存储模式（file.storage.mode）：
+ *
+ * 1. path：按 {toolType}/{toolName}/{version}/{arch}/{fileName} 目录结构保存，每条文件记录对应一份物理文件
+ * 2. cas：内容寻址存储，上传时边写入边计算 SHA-256，内容保存在 blobs/{hash[0..2]}/{hash[2..4]}/{hash}，
+ *    相同内容只保存一份；文件记录的 filePath 仍为上述逻辑路径，通过 contentHash 定位内容，
+ *    引用计数即引用同一哈希的有效文件记录数，最后一条记录删除时才删除内容
+ *
+ * 两种模式可以共存：contentHash 为空的历史记录始终按逻辑路径读取
+ *
+ * 文本类文件入库后在后台生成 gzip 压缩版本，保存在 .variants 目录下与内容文件相同的相对路径（{相对路径}.gz），
+ * 上传文件不能写入该目录，因此不会把用户上传的同名 .gz 文件当作压缩版本；压缩版本随内容文件一起删除
+ */
+@Service
+public class FileStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
+
+    public static final String MODE_PATH = "path";
+    public static final String MODE_CAS = "cas";
+
+    private static final String BLOB_DIR = "blobs";
+    private static final String TEMP_DIR = ".tmp";
+    private static final String VARIANT_DIR = ".variants";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 分段锁数量（必须为2的幂），同一哈希（或 path 模式下同一逻辑路径）的存储、引用检查、删除与压缩版本发布串行执行
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    @Value("${file.upload-path}")
+    private String uploadPath;
+
+    @Value("${file.storage.mode:" + MODE_PATH + "}")
+    private String storageMode;
+
+    @Value("${file.precompress.enabled:true}")
+    private boolean precompressEnabled;
+
+    /**
+     * 小于该大小的文件不预压缩
+     */
+    @Value("${file.precompress.min-size:1024}")
+    private long precompressMinSize;
+
+    /**
+     * 大于该大小的文件不预压缩
+     */
+    @Value("${file.precompress.max-size:104857600}")
+    private long precompressMaxSize;
+
+    @Autowired
+    private ToolFileMapper toolFileMapper;
+
+    @Autowired
+    @Qualifier("precompressExecutor")
+    private Executor precompressExecutor;
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    /**
+     * 已写入内容但尚未入库的引用数，防止入库前内容被并发的删除操作清理
+     * key: 内容哈希
+     * value: 待入库的引用数
+     * 只在对应哈希的分段锁内读写
+     */
+    private final Map<String, Integer> pendingReferences = new HashMap<>();
+
+    public FileStorageService() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!MODE_PATH.equals(storageMode) && !MODE_CAS.equals(storageMode)) {
+            throw new IllegalStateException("不支持的文件存储模式: " + storageMode + "（可选值: path, cas）");
+        }
+        logger.info("工具文件存储模式: {}", storageMode);
+
+        // 清理上次异常退出时残留的临时文件
+        Path tempDir = getTempDir();
+        if (Files.isDirectory(tempDir)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(tempDir)) {
+                for (Path temp : stream) {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException e) {
+                logger.warn("清理存储临时目录失败: {}", tempDir, e);
+            }
+        }
+    }
+
+    /**
+     * 是否为内容寻址存储模式
+     */
+    public boolean isContentAddressed() {
+        return MODE_CAS.equals(storageMode);
+    }
+
+    /**
+     * 获取文件内容所在的文件系统路径
+     */
+    public Path resolve(ToolFile toolFile) {
+        if (toolFile.getContentHash() != null) {
+            return getBlobPath(toolFile.getContentHash());
+        }
+        return getLogicalPath(toolFile.getFilePath());
+    }
+
+    /**
+     * 逻辑路径对应的文件系统路径（用于没有数据库记录的历史文件）
+     */
+    public Path resolve(String urlPath) {
+        return getLogicalPath(urlPath);
+    }
+
+    /**
+     * 判断逻辑路径是否指向存储内部目录（上传目录下的 blobs，以及 .upload-sessions、.tmp 等以点开头的目录），
+     * 这些路径不能按逻辑路径访问，也不能作为上传目标；包含 . 或 .. 路径段时同样视为内部路径
+     *
+     * @param urlPath 逻辑路径（URL格式，正斜杠分隔）
+     */
+    public static boolean isInternalPath(String urlPath) {
+        String normalized = urlPath.replace("\\", "/");
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        String[] segments = normalized.split("/");
+        if (segments[0].equals(BLOB_DIR) || segments[0].startsWith(".")) {
+            return true;
+        }
+        for (String segment : segments) {
+            if (segment.equals(".") || segment.equals("..")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断逻辑路径是否已被占用
+     * 只用于提前拒绝，并发上传同一路径时由 tb_tool_file 的唯一键 uk_active_file_path 保证只有一条记录入库
+     */
+    public boolean exists(String urlPath) {
+        if (Files.exists(getLogicalPath(urlPath))) {
+            return true;
+        }
+        if (!isContentAddressed()) {
+            return false;
+        }
+        LambdaQueryWrapper<ToolFile> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ToolFile::getFilePath, urlPath);
+        return toolFileMapper.selectCount(wrapper) > 0;
+    }
+
+    /**
+     * 写入文件内容
+     * 写入成功后必须在文件记录入库后调用 {@link #commit(ToolFile)}，入库失败时调用 {@link #discard(ToolFile)}
+     *
+     * @param input 文件内容
+     * @param urlPath 逻辑路径（URL格式，正斜杠分隔）
+     * @return 内容哈希，path 模式下返回null
+     * @throws FileAlreadyExistsException 如果逻辑路径已被占用
+     */
+    public String store(InputStream input, String urlPath) throws IOException {
+        checkTargetPath(urlPath);
+        if (!isContentAddressed()) {
+            Path target = getLogicalPath(urlPath);
+            Files.createDirectories(target.getParent());
+            Files.copy(input, target);
+            return null;
+        }
+
+        if (exists(urlPath)) {
+            throw new FileAlreadyExistsException(urlPath);
+        }
+
+        // 边写入临时文件边计算哈希，内容只读取一次
+        Path temp = createTempFile();
+        String hash;
+        try {
+            MessageDigest digest = newDigest();
+            try (DigestInputStream in = new DigestInputStream(input, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            hash = HexFormat.of().formatHex(digest.digest());
+            storeBlob(temp, hash);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+        return hash;
+    }
+
+    /**
+     * 将已写入磁盘的文件移入存储（用于分片上传完成时）
+     * 成功后源文件不再存在；后续调用约定同 {@link #store(InputStream, String)}
+     *
+     * @param source 源文件，必须与上传目录位于同一文件系统
+     * @param urlPath 逻辑路径（URL格式，正斜杠分隔）
+     * @return 内容哈希，path 模式下返回null
+     */
+    public String storeFile(Path source, String urlPath) throws IOException {
+        checkTargetPath(urlPath);
+        if (!isContentAddressed()) {
+            Path target = getLogicalPath(urlPath);
+            Files.createDirectories(target.getParent());
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return null;
+        }
+
+        if (exists(urlPath)) {
+            throw new FileAlreadyExistsException(urlPath);
+        }
+
+        // 分片乱序到达，只能在完成时整体计算一次哈希
+        MessageDigest digest = newDigest();
+        try (InputStream in = Files.newInputStream(source)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        storeBlob(source, hash);
+        return hash;
+    }
+
+    /**
+     * 在后台为可压缩的文件内容生成 gzip 压缩版本（文件记录入库后调用，失败不影响上传）
+     * 压缩率不足10%时不保留压缩版本；压缩任务队列已满时跳过
+     *
+     * @param onWritten 压缩版本生成后的回调（用于使路径缓存失效），可为null
+     */
+    public void scheduleGzipVariant(ToolFile toolFile, Runnable onWritten) {
+        if (!precompressEnabled || !CompressionUtil.isCompressible(toolFile.getFileName(), toolFile.getFileType())) {
+            return;
+        }
+        try {
+            precompressExecutor.execute(() -> writeGzipVariant(toolFile, onWritten));
+        } catch (RejectedExecutionException e) {
+            logger.warn("预压缩任务队列已满，不生成压缩版本: {}", toolFile.getFilePath());
+        }
+    }
+
+    /**
+     * 内容文件对应的 gzip 压缩版本路径（不检查是否存在）
+     *
+     * @param content 内容文件路径，必须位于上传目录下
+     */
+    public Path getGzipVariantPath(Path content) {
+        Path root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        Path relative = root.relativize(content.toAbsolutePath().normalize());
+        return root.resolve(VARIANT_DIR).resolve(relative.toString() + CompressionUtil.GZIP_SUFFIX);
+    }
+
+    private void writeGzipVariant(ToolFile toolFile, Runnable onWritten) {
+        String hash = toolFile.getContentHash();
+        Path content = resolve(toolFile);
+        Path gzip = getGzipVariantPath(content);
+        Path temp = gzip.resolveSibling(gzip.getFileName() + ".tmp");
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(content, BasicFileAttributes.class);
+            long size = attributes.size();
+            if (size < precompressMinSize || size > precompressMaxSize) {
+                return;
+            }
+            // 内容寻址存储的同一哈希内容不变，已有压缩版本时直接复用
+            if (hash != null && Files.exists(gzip)) {
+                return;
+            }
+            Files.createDirectories(gzip.getParent());
+            long compressedSize = CompressionUtil.gzip(content, temp);
+            if (compressedSize >= size * 0.9) {
+                logger.debug("压缩率不足，不保留压缩版本: {}", toolFile.getFilePath());
+                return;
+            }
+
+            // 与删除内容在同一把锁内：内容在压缩期间被删除或替换时丢弃压缩结果
+            ReentrantLock lock = lockFor(hash != null ? hash : toolFile.getFilePath());
+            lock.lock();
+            try {
+                if (!isSameFile(content, attributes)) {
+                    logger.debug("内容在压缩期间已变化，丢弃压缩版本: {}", toolFile.getFilePath());
+                    return;
+                }
+                Files.move(temp, gzip, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                lock.unlock();
+            }
+            logger.info("已生成预压缩文件: {}, {} -> {} bytes", toolFile.getFilePath(), size, compressedSize);
+            if (onWritten != null) {
+                onWritten.run();
+            }
+        } catch (IOException e) {
+            logger.warn("生成预压缩文件失败: {}", toolFile.getFilePath(), e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private boolean isSameFile(Path path, BasicFileAttributes expected) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.size() == expected.size()
+                    && attributes.lastModifiedTime().equals(expected.lastModifiedTime());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 文件记录入库成功后调用，结束内容的待入库状态
+     */
+    public void commit(ToolFile toolFile) {
+        String hash = toolFile.getContentHash();
+        if (hash == null) {
+            return;
+        }
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            decrementPending(hash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 文件记录入库失败时调用，撤销本次写入
+     */
+    public void discard(ToolFile toolFile) {
+        String hash = toolFile.getContentHash();
+        if (hash == null) {
+            deleteLogicalContent(toolFile.getFilePath());
+            return;
+        }
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            decrementPending(hash);
+            deleteBlobIfUnreferenced(hash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 文件记录删除后调用，释放其引用的内容
+     * cas 模式下仅在最后一条引用删除后才删除内容
+     */
+    public void release(ToolFile toolFile) {
+        String hash = toolFile.getContentHash();
+        if (hash == null) {
+            deleteLogicalContent(toolFile.getFilePath());
+            return;
+        }
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            deleteBlobIfUnreferenced(hash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 将临时文件移动为内容文件，相同内容已存在时删除临时文件
+     * 失败时临时文件保持不变，由调用方处理
+     */
+    private void storeBlob(Path temp, String hash) throws IOException {
+        Path blob = getBlobPath(hash);
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            if (Files.exists(blob)) {
+                Files.delete(temp);
+                logger.info("文件内容已存在，复用已有内容: {}", hash);
+            } else {
+                Files.createDirectories(blob.getParent());
+                Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+            }
+            pendingReferences.merge(hash, 1, Integer::sum);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 没有待入库引用且没有有效文件记录引用时删除内容，调用方必须持有该哈希的分段锁
+     */
+    private void deleteBlobIfUnreferenced(String hash) {
+        if (pendingReferences.containsKey(hash)) {
+            return;
+        }
+        LambdaQueryWrapper<ToolFile> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ToolFile::getContentHash, hash);
+        long references = toolFileMapper.selectCount(wrapper);
+        if (references > 0) {
+            logger.debug("文件内容仍被 {} 条记录引用，保留: {}", references, hash);
+            return;
+        }
+        deleteContent(getBlobPath(hash));
+        logger.info("已删除无引用的文件内容: {}", hash);
+    }
+
+    private void decrementPending(String hash) {
+        pendingReferences.computeIfPresent(hash, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * 上传目标不能位于存储内部目录中（工具类型、名称等目录名以点开头或为 blobs 时）
+     */
+    private void checkTargetPath(String urlPath) throws IOException {
+        if (isInternalPath(urlPath)) {
+            throw new IOException("文件路径不合法: " + urlPath);
+        }
+    }
+
+    private ReentrantLock lockFor(String key) {
+        return locks[key.hashCode() & (LOCK_STRIPES - 1)];
+    }
+
+    private Path createTempFile() throws IOException {
+        Path tempDir = getTempDir();
+        Files.createDirectories(tempDir);
+        return Files.createTempFile(tempDir, "upload-", ".tmp");
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 删除按逻辑路径保存的内容文件及其预压缩版本
+     */
+    private void deleteLogicalContent(String urlPath) {
+        ReentrantLock lock = lockFor(urlPath);
+        lock.lock();
+        try {
+            deleteContent(getLogicalPath(urlPath));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除内容文件及其预压缩版本，调用方必须持有对应的分段锁
+     */
+    private void deleteContent(Path path) {
+        deleteQuietly(path);
+        deleteQuietly(getGzipVariantPath(path));
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            if (Files.deleteIfExists(path)) {
+                logger.info("已删除物理文件: {}", path);
+            }
+        } catch (IOException e) {
+            logger.warn("删除物理文件失败: {}", path, e);
+        }
+    }
+
+    private Path getLogicalPath(String urlPath) {
+        return Paths.get(uploadPath, urlPath.replace("/", File.separator));
+    }
+
+    private Path getBlobPath(String hash) {
+        return Paths.get(uploadPath, BLOB_DIR, hash.substring(0, 2), hash.substring(2, 4), hash);
+    }
+
+    private Path getTempDir() {
+        return Paths.get(uploadPath, BLOB_DIR, TEMP_DIR);
+    }
+}
@@ -0,0 +1,262 @@
+package com.company.tooldashboard.service;
+
+import com.company.tooldashboard.util.HttpRangeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 图标内容缓存
+ * 图标内容保存在堆外内存（direct ByteBuffer）中，按相对路径索引，总字节数有上限，超出时按LRU淘汰；
+ * 命中时无需访问磁盘，也不产生堆内存分配
+ *
+ * 图标文件名为UUID，上传后内容不会变化，因此缓存项不需要过期校验
+ */
+@Service
+public class IconCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(IconCache.class);
+
+    /**
+     * 读取期间文件发生变化时的最大读取次数
+     */
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    /**
+     * 缓存总字节数上限
+     */
+    @Value("${file.icon-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    /**
+     * 单个图标超过该大小时不缓存
+     */
+    @Value("${file.icon-cache.max-entry-size:1048576}")
+    private long maxEntrySize;
+
+    /**
+     * 访问顺序的LinkedHashMap，最久未访问的在前
+     * key: 图标相对路径
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long currentBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 获取图标，未缓存时从磁盘读取并放入缓存
+     *
+     * @param relativePath 图标相对路径（缓存键）
+     * @param filePath 图标文件系统路径
+     * @param contentType 图标Content-Type
+     * @return 缓存项，文件不存在时返回null
+     */
+    public Entry get(String relativePath, Path filePath, String contentType) throws IOException {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(relativePath);
+        } finally {
+            lock.unlock();
+        }
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+
+        misses.increment();
+        if (!Files.isRegularFile(filePath)) {
+            return null;
+        }
+        entry = load(filePath, contentType);
+        put(relativePath, entry);
+        return entry;
+    }
+
+    /**
+     * 预热：图标上传后直接放入缓存
+     */
+    public void warm(String relativePath, Path filePath, String contentType) {
+        try {
+            put(relativePath, load(filePath, contentType));
+        } catch (IOException e) {
+            logger.warn("图标缓存预热失败: {}", relativePath, e);
+        }
+    }
+
+    /**
+     * 读取图标文件
+     * 缓存项不会重新校验，读取期间文件被替换或截断时不能把不完整或与 ETag 不符的内容放入缓存：
+     * 读取前后文件大小、修改时间不一致或读到的字节数不足时重试，多次仍不一致则读取失败
+     */
+    private Entry load(Path filePath, String contentType) throws IOException {
+        for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            Entry entry = tryLoad(filePath, contentType);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        throw new IOException("图标文件在读取过程中被修改: " + filePath);
+    }
+
+    /**
+     * 读取一次图标文件，读取期间文件发生变化时返回null
+     */
+    private Entry tryLoad(Path filePath, String contentType) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = HttpRangeUtil.buildETag(size, lastModified);
+        boolean cacheable = size <= maxEntrySize;
+
+        ByteBuffer buffer;
+        if (!cacheable) {
+            // 过大的图标不占用缓存，直接使用堆内缓冲区返回
+            byte[] bytes = Files.readAllBytes(filePath);
+            if (bytes.length != size) {
+                return null;
+            }
+            buffer = ByteBuffer.wrap(bytes);
+        } else {
+            try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+                buffer = ByteBuffer.allocateDirect((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // 读满为止
+                }
+                if (buffer.hasRemaining() || channel.size() != size) {
+                    return null;
+                }
+            }
+            buffer.flip();
+            buffer = buffer.asReadOnlyBuffer();
+        }
+
+        // 读取期间文件被替换（打开的仍是旧文件）时内容与当前文件不符
+        BasicFileAttributes current = Files.readAttributes(filePath, BasicFileAttributes.class);
+        if (current.size() != size || current.lastModifiedTime().toMillis() != lastModified) {
+            return null;
+        }
+        return new Entry(buffer, contentType, etag, lastModified, cacheable);
+    }
+
+    private void put(String relativePath, Entry entry) {
+        if (!entry.cacheable) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.put(relativePath, entry);
+            if (previous != null) {
+                currentBytes -= previous.getLength();
+            }
+            currentBytes += entry.getLength();
+
+            // 按LRU淘汰直到低于上限
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && iterator.hasNext()) {
+                Entry eldest = iterator.next().getValue();
+                iterator.remove();
+                currentBytes -= eldest.getLength();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int getEntryCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSizeBytes() {
+        lock.lock();
+        try {
+            return currentBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 缓存项（不可变），内容为只读缓冲区，读取时使用 {@link #getContent()} 获取独立的读取位置
+     */
+    public static final class Entry {
+
+        private final ByteBuffer content;
+        private final String contentType;
+        private final String etag;
+        private final long lastModified;
+        private final boolean cacheable;
+
+        private Entry(ByteBuffer content, String contentType, String etag, long lastModified, boolean cacheable) {
+            this.content = content;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.cacheable = cacheable;
+        }
+
+        /**
+         * 图标内容（共享底层内存的只读视图，每次调用返回新的读取位置）
+         */
+        public ByteBuffer getContent() {
+            return content.duplicate();
+        }
+
+        public int getLength() {
+            return content.remaining();
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.company.tooldashboard.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.company.tooldashboard.dto.SearchResultDTO;
+import com.company.tooldashboard.entity.ChangeLog;
+import com.company.tooldashboard.entity.Tool;
+import com.company.tooldashboard.entity.ToolFile;
+import com.company.tooldashboard.mapper.ChangeLogMapper;
+import com.company.tooldashboard.mapper.ToolFileMapper;
+import com.company.tooldashboard.mapper.ToolMapper;
+import com.company.tooldashboard.util.SearchTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 全文搜索索引
+ * 在内存中维护工具（名称、描述）、文件（原始名称、说明）和变更日志（内容）的倒排索引，
+ * 搜索时只读内存，不使用 LIKE '%keyword%' 扫描数据库
+ *
+ * 分词见 SearchTokenizer：中文按二元组切分。查询的所有词都必须命中（AND），
+ * 最后一个未输完的英文/数字词按前缀匹配，结果按 BM25 风格的相关度得分排序，
+ * 名称类字段权重高于描述类字段。
+ *
+ * 新增、修改、删除记录后增量更新；另有定时全量重建兜底，用于多实例部署时同步其他节点的修改
+ */
+@Service
+public class SearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    public static final String TYPE_TOOL = "tool";
+    public static final String TYPE_FILE = "file";
+    public static final String TYPE_CHANGELOG = "changelog";
+
+    /**
+     * 默认返回条数
+     */
+    public static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * 最大返回条数
+     */
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * 字段权重
+     */
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float TEXT_WEIGHT = 1f;
+
+    /**
+     * 词频饱和参数（BM25 k1）
+     */
+    private static final double K1 = 1.2;
+
+    /**
+     * 前缀匹配最多展开的词数
+     */
+    private static final int MAX_PREFIX_EXPANSION = 64;
+
+    /**
+     * 摘要最大长度
+     */
+    private static final int SUMMARY_LENGTH = 120;
+
+    @Autowired
+    private ToolMapper toolMapper;
+
+    @Autowired
+    private ToolFileMapper toolFileMapper;
+
+    @Autowired
+    private ChangeLogMapper changeLogMapper;
+
+    private volatile Index index;
+
+    /**
+     * 全量重建与增量更新互斥，重建时查询数据库，持锁时间较长
+     */
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    /**
+     * 应用启动完成后构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.warn("搜索索引构建失败，将在首次搜索时加载: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定时全量重建
+     */
+    @Scheduled(initialDelayString = "${search.rebuild-interval:300000}",
+               fixedDelayString = "${search.rebuild-interval:300000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.warn("搜索索引定时重建失败，继续使用旧索引: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从数据库全量重建索引
+     * 与增量更新互斥，避免重建期间的修改被旧数据覆盖
+     */
+    public void rebuild() {
+        updateLock.lock();
+        try {
+            Index rebuilt = new Index();
+
+            List<Tool> tools = toolMapper.selectList(new LambdaQueryWrapper<Tool>()
+                    .select(Tool::getId, Tool::getName, Tool::getDescription, Tool::getType, Tool::getCurrentVersion));
+            tools.forEach(tool -> rebuilt.put(toolDocument(tool)));
+
+            List<ToolFile> files = toolFileMapper.selectList(new LambdaQueryWrapper<ToolFile>()
+                    .select(ToolFile::getId, ToolFile::getToolId, ToolFile::getOriginalName,
+                            ToolFile::getDescription, ToolFile::getVersion));
+            files.forEach(file -> rebuilt.put(fileDocument(file)));
+
+            List<ChangeLog> logs = changeLogMapper.selectList(new LambdaQueryWrapper<ChangeLog>()
+                    .select(ChangeLog::getId, ChangeLog::getToolId, ChangeLog::getChangeType,
+                            ChangeLog::getContent, ChangeLog::getVersion));
+            logs.forEach(log -> rebuilt.put(changeLogDocument(log)));
+
+            index = rebuilt;
+            logger.debug("搜索索引已重建 - 工具: {}, 文件: {}, 变更日志: {}, 词数: {}",
+                    tools.size(), files.size(), logs.size(), rebuilt.termCount());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 索引工具（新增/更新工具后调用）
+     */
+    public void indexTool(Tool tool) {
+        updateLock.lock();
+        try {
+            if (tool != null && tool.getId() != null) {
+                getIndex().put(toolDocument(tool));
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 索引文件（上传文件后调用）
+     */
+    public void indexFile(ToolFile file) {
+        updateLock.lock();
+        try {
+            if (file != null && file.getId() != null) {
+                getIndex().put(fileDocument(file));
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 索引变更日志（新增/更新变更日志后调用）
+     */
+    public void indexChangeLog(ChangeLog log) {
+        updateLock.lock();
+        try {
+            if (log != null && log.getId() != null) {
+                getIndex().put(changeLogDocument(log));
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 移除记录（删除后调用）
+     *
+     * @param type 记录类型（TYPE_TOOL/TYPE_FILE/TYPE_CHANGELOG）
+     */
+    public void remove(String type, Long id) {
+        updateLock.lock();
+        try {
+            if (id != null) {
+                getIndex().remove(documentKey(type, id));
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 搜索
+     *
+     * @param query 查询文本
+     * @param type 只搜索指定类型，为空时搜索全部
+     * @param limit 返回条数
+     * @return 按相关度从高到低排序的结果
+     */
+    public List<SearchResultDTO> search(String query, String type, Integer limit) {
+        if (!StringUtils.hasText(query)) {
+            return Collections.emptyList();
+        }
+        List<String> terms = SearchTokenizer.tokenizeQuery(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String prefixTerm = SearchTokenizer.endsWithWord(query) ? terms.get(terms.size() - 1) : null;
+        int max = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return getIndex().search(terms, prefixTerm, StringUtils.hasText(type) ? type : null, max);
+    }
+
+    private Index getIndex() {
+        Index current = index;
+        if (current == null) {
+            updateLock.lock();
+            try {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            } finally {
+                updateLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private static Document toolDocument(Tool tool) {
+        Document document = new Document(TYPE_TOOL, tool.getId(), tool.getId(), tool.getName(),
+                summarize(tool.getDescription()), tool.getCurrentVersion());
+        document.addField(tool.getName(), TITLE_WEIGHT);
+        document.addField(tool.getDescription(), TEXT_WEIGHT);
+        document.addField(tool.getType(), TEXT_WEIGHT);
+        return document;
+    }
+
+    private static Document fileDocument(ToolFile file) {
+        Document document = new Document(TYPE_FILE, file.getId(), file.getToolId(), file.getOriginalName(),
+                summarize(file.getDescription()), file.getVersion());
+        document.addField(file.getOriginalName(), TITLE_WEIGHT);
+        document.addField(file.getDescription(), TEXT_WEIGHT);
+        return document;
+    }
+
+    private static Document changeLogDocument(ChangeLog log) {
+        Document document = new Document(TYPE_CHANGELOG, log.getId(), log.getToolId(), log.getChangeType(),
+                summarize(log.getContent()), log.getVersion());
+        document.addField(log.getContent(), TEXT_WEIGHT);
+        document.addField(log.getVersion(), TEXT_WEIGHT);
+        return document;
+    }
+
+    private static String summarize(String text) {
+        if (text == null || text.length() <= SUMMARY_LENGTH) {
+            return text;
+        }
+        return text.substring(0, SUMMARY_LENGTH) + "...";
+    }
+
+    private static String documentKey(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    /**
+     * 倒排索引（读写锁保护：搜索并发读，更新独占写）
+     */
+    private static final class Index {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * key: 文档键（类型:ID）
+         */
+        private final Map<String, Document> documents = new HashMap<>();
+
+        /**
+         * key: 词
+         * value: 包含该词的文档及其加权词频（有序，支持前缀查找）
+         */
+        private final TreeMap<String, Map<String, Float>> postings = new TreeMap<>();
+
+        void put(Document document) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(document.key);
+                documents.put(document.key, document);
+                for (Map.Entry<String, Float> entry : document.termWeights.entrySet()) {
+                    postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>())
+                            .put(document.key, entry.getValue());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String key) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int termCount() {
+            lock.readLock().lock();
+            try {
+                return postings.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<SearchResultDTO> search(List<String> terms, String prefixTerm, String type, int limit) {
+            lock.readLock().lock();
+            try {
+                int totalDocuments = documents.size();
+                Map<String, Double> scores = null;
+                for (String term : terms) {
+                    Map<String, Double> termScores = new HashMap<>();
+                    if (term.equals(prefixTerm)) {
+                        // 前缀展开的各个词对同一文档取最高得分
+                        int expanded = 0;
+                        for (Map.Entry<String, Map<String, Float>> entry : prefixRange(term).entrySet()) {
+                            accumulate(termScores, entry.getValue(), totalDocuments, true);
+                            if (++expanded >= MAX_PREFIX_EXPANSION) {
+                                break;
+                            }
+                        }
+                    } else {
+                        Map<String, Float> posting = postings.get(term);
+                        if (posting != null) {
+                            accumulate(termScores, posting, totalDocuments, false);
+                        }
+                    }
+                    if (termScores.isEmpty()) {
+                        return Collections.emptyList();
+                    }
+                    scores = scores == null ? termScores : intersect(scores, termScores);
+                    if (scores.isEmpty()) {
+                        return Collections.emptyList();
+                    }
+                }
+
+                List<SearchResultDTO> results = new ArrayList<>();
+                for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                    Document document = documents.get(entry.getKey());
+                    if (document != null && (type == null || type.equals(document.type))) {
+                        results.add(new SearchResultDTO(document.type, document.id, document.toolId,
+                                document.title, document.summary, document.version, entry.getValue()));
+                    }
+                }
+                results.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+                return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private SortedMap<String, Map<String, Float>> prefixRange(String prefix) {
+            return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        }
+
+        private void removeLocked(String key) {
+            Document existing = documents.remove(key);
+            if (existing == null) {
+                return;
+            }
+            for (String term : existing.termWeights.keySet()) {
+                Map<String, Float> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(key);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 累加一个词对各文档的得分：idf * 饱和后的加权词频
+         */
+        private static void accumulate(Map<String, Double> scores, Map<String, Float> posting,
+                                       int totalDocuments, boolean keepMax) {
+            int df = posting.size();
+            double idf = Math.log(1 + (totalDocuments - df + 0.5) / (df + 0.5));
+            for (Map.Entry<String, Float> entry : posting.entrySet()) {
+                double weight = entry.getValue();
+                double score = idf * weight * (K1 + 1) / (weight + K1);
+                if (keepMax) {
+                    scores.merge(entry.getKey(), score, Math::max);
+                } else {
+                    scores.merge(entry.getKey(), score, Double::sum);
+                }
+            }
+        }
+
+        private static Map<String, Double> intersect(Map<String, Double> scores, Map<String, Double> termScores) {
+            Map<String, Double> smaller = scores.size() <= termScores.size() ? scores : termScores;
+            Map<String, Double> larger = smaller == scores ? termScores : scores;
+            Map<String, Double> result = new HashMap<>();
+            for (Map.Entry<String, Double> entry : smaller.entrySet()) {
+                Double other = larger.get(entry.getKey());
+                if (other != null) {
+                    result.put(entry.getKey(), entry.getValue() + other);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 索引文档（构建后不再修改）
+     */
+    private static final class Document {
+
+        private final String key;
+        private final String type;
+        private final Long id;
+        private final Long toolId;
+        private final String title;
+        private final String summary;
+        private final String version;
+
+        /**
+         * key: 词
+         * value: 加权词频（各字段词频乘以字段权重之和）
+         */
+        private final Map<String, Float> termWeights = new HashMap<>();
+
+        private Document(String type, Long id, Long toolId, String title, String summary, String version) {
+            this.key = documentKey(type, id);
+            this.type = type;
+            this.id = id;
+            this.toolId = toolId;
+            this.title = title;
+            this.summary = summary;
+            this.version = version;
+        }
+
+        private void addField(String text, float weight) {
+            for (String term : SearchTokenizer.tokenize(text)) {
+                termWeights.merge(term, weight, Float::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.tooldashboard.service;
+
+/**
+ * token撤销记录存储
+ * 通过 auth.revocation.store 选择实现：
+ * - memory：仅保存在本进程内存中（单实例部署）
+ * - database：记录写入数据库，各节点在本地缓存并增量同步（多实例部署）
+ *
+ * token均以摘要表示（见 JwtUtil.digest），不保存token原文
+ */
+public interface TokenRevocationStore {
+    
+    /**
+     * 撤销token
+     * @param tokenDigest token摘要
+     * @param expirationTime token的过期时间戳（毫秒），过期后记录可清理
+     * @throws RuntimeException 无法记录撤销（如记录数已达上限），此时token仍然有效
+     */
+    void revoke(String tokenDigest, long expirationTime);
+    
+    /**
+     * 判断token是否已撤销（读取本地内存，database模式下本地缓存不完整时查询数据库）
+     */
+    boolean isRevoked(String tokenDigest);
+    
+    /**
+     * 本地已撤销记录条目数
+     */
+    int size();
+}
@@ -0,0 +1,187 @@
+package com.company.tooldashboard.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.company.tooldashboard.dto.ToolGroupDTO;
+import com.company.tooldashboard.entity.Tool;
+import com.company.tooldashboard.mapper.ToolMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 工具目录缓存
+ * 在内存中保存工具列表与分组结果的不可变快照，看板查询直接读取快照，不访问数据库
+ *
+ * 刷新策略：
+ * 1. 新增/更新/删除工具后立即整体重建快照并原子替换
+ * 2. 定时检查快照年龄，超过TTL后重建（兜底，用于多实例部署时同步其他节点的修改）
+ */
+@Service
+public class ToolCatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolCatalogCache.class);
+
+    /**
+     * 类型显示名称映射
+     */
+    private static final Map<String, String> TYPE_NAME_MAP = Map.of(
+        "平台", "平台",
+        "工具", "工具",
+        "系统", "系统",
+        "其他", "其他"
+    );
+
+    @Autowired
+    private ToolMapper toolMapper;
+
+    @Value("${tool.catalog.ttl:300000}")
+    private long ttl;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 同一时间只有一个线程从数据库重建快照
+     */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * 应用启动完成后预热缓存
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            logger.warn("工具目录缓存预热失败，将在首次访问时加载: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 获取当前快照，仅在尚未加载时访问数据库
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        return refresh();
+    }
+
+    /**
+     * 从数据库重建快照并原子替换
+     */
+    public Snapshot refresh() {
+        refreshLock.lock();
+        try {
+            LambdaQueryWrapper<Tool> wrapper = new LambdaQueryWrapper<>();
+            wrapper.orderByAsc(Tool::getSortOrder)
+                    .orderByDesc(Tool::getCreateTime);
+            List<Tool> tools = toolMapper.selectList(wrapper);
+
+            Snapshot rebuilt = new Snapshot(tools);
+            snapshot = rebuilt;
+            logger.debug("工具目录缓存已重建 - 工具数: {}", tools.size());
+            return rebuilt;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 快照超过TTL时重建
+     */
+    @Scheduled(fixedDelayString = "${tool.catalog.ttl:300000}")
+    public void refreshIfExpired() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.getBuildTime() < ttl) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            logger.warn("工具目录缓存定时刷新失败，继续使用旧快照: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 工具目录快照（不可变）
+     */
+    public static final class Snapshot {
+
+        private final List<Tool> tools;
+        private final List<ToolGroupDTO> groups;
+        private final Map<Long, Tool> toolsById;
+        private final Map<String, Tool> toolsByName;
+        private final long buildTime;
+
+        private Snapshot(List<Tool> tools) {
+            this.tools = Collections.unmodifiableList(new ArrayList<>(tools));
+            this.buildTime = System.currentTimeMillis();
+
+            Map<Long, Tool> byId = new HashMap<>();
+            Map<String, Tool> byName = new HashMap<>();
+            // 按类型分组
+            Map<String, List<Tool>> groupMap = new LinkedHashMap<>();
+            for (Tool tool : this.tools) {
+                byId.put(tool.getId(), tool);
+                if (tool.getName() != null) {
+                    byName.putIfAbsent(tool.getName(), tool);
+                }
+                String type = StringUtils.hasText(tool.getType()) ? tool.getType() : "其他";
+                groupMap.computeIfAbsent(type, key -> new ArrayList<>()).add(tool);
+            }
+            this.toolsById = Collections.unmodifiableMap(byId);
+            this.toolsByName = Collections.unmodifiableMap(byName);
+
+            // 转换为DTO列表
+            List<ToolGroupDTO> groupList = new ArrayList<>(groupMap.size());
+            for (Map.Entry<String, List<Tool>> entry : groupMap.entrySet()) {
+                String type = entry.getKey();
+                List<Tool> groupTools = Collections.unmodifiableList(entry.getValue());
+                groupList.add(new ToolGroupDTO(type, TYPE_NAME_MAP.getOrDefault(type, type),
+                        groupTools, groupTools.size()));
+            }
+            this.groups = Collections.unmodifiableList(groupList);
+        }
+
+        /**
+         * 所有工具（按排序号升序、创建时间降序）
+         */
+        public List<Tool> getTools() {
+            return tools;
+        }
+
+        /**
+         * 按类型分组的工具
+         */
+        public List<ToolGroupDTO> getGroups() {
+            return groups;
+        }
+
+        public Tool getToolById(Long id) {
+            return id == null ? null : toolsById.get(id);
+        }
+
+        public Tool getToolByName(String name) {
+            return name == null ? null : toolsByName.get(name);
+        }
+
+        public long getBuildTime() {
+            return buildTime;
+        }
+    }
+}
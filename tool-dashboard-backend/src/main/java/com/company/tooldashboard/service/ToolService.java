@@ -17,11 +17,31 @@ public interface ToolService extends IService<Tool> {
      */
     Page<Tool> getToolPage(Integer pageNum, Integer pageSize, String keyword);
     
+    /**
+     * 获取所有工具列表（按排序号升序、创建时间降序）
+     */
+    List<Tool> getAllTools();
+    
     /**
      * 获取工具详情
      */
     Tool getToolDetail(Long id);
     
+    /**
+     * 新增工具
+     */
+    void addTool(Tool tool);
+    
+    /**
+     * 更新工具
+     */
+    void updateTool(Tool tool);
+    
+    /**
+     * 删除工具
+     */
+    void deleteTool(Long id);
+    
     /**
      * 按类型分组查询工具列表
      */
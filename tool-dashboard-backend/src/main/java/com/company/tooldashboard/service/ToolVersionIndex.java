@@ -0,0 +1,215 @@
+package com.company.tooldashboard.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.company.tooldashboard.entity.ToolFile;
+import com.company.tooldashboard.mapper.ToolFileMapper;
+import com.company.tooldashboard.util.SemVer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 工具版本索引
+ * 在内存中为每个工具维护已排序（从高到低、去重）的文件版本列表，
+ * 使最新版本与历史版本查询无需访问数据库、也无需在每次请求时重新解析和排序版本号
+ *
+ * 索引以文件ID为粒度记录版本，上传、删除文件时增量更新，重复应用同一变更不会产生影响；
+ * 另有定时全量重建兜底，用于多实例部署时同步其他节点的修改
+ */
+@Service
+public class ToolVersionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolVersionIndex.class);
+
+    @Autowired
+    private ToolFileMapper toolFileMapper;
+
+    /**
+     * key: 工具ID
+     * value: 该工具的版本快照
+     */
+    private volatile Map<Long, ToolVersions> index;
+
+    /**
+     * 保护索引的全量重建与增量修改
+     */
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    /**
+     * 应用启动完成后构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.warn("工具版本索引构建失败，将在首次访问时加载: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定时全量重建
+     */
+    @Scheduled(initialDelayString = "${tool.version-index.rebuild-interval:300000}",
+               fixedDelayString = "${tool.version-index.rebuild-interval:300000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.warn("工具版本索引定时重建失败，继续使用旧索引: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从数据库全量重建索引
+     */
+    public void rebuild() {
+        updateLock.lock();
+        try {
+            LambdaQueryWrapper<ToolFile> wrapper = new LambdaQueryWrapper<>();
+            wrapper.select(ToolFile::getId, ToolFile::getToolId, ToolFile::getVersion)
+                   .isNotNull(ToolFile::getVersion);
+            List<ToolFile> files = toolFileMapper.selectList(wrapper);
+
+            Map<Long, Map<Long, String>> grouped = new HashMap<>();
+            for (ToolFile file : files) {
+                grouped.computeIfAbsent(file.getToolId(), id -> new HashMap<>()).put(file.getId(), file.getVersion());
+            }
+
+            Map<Long, ToolVersions> rebuilt = new ConcurrentHashMap<>();
+            for (Map.Entry<Long, Map<Long, String>> entry : grouped.entrySet()) {
+                rebuilt.put(entry.getKey(), new ToolVersions(entry.getValue()));
+            }
+            index = rebuilt;
+            logger.debug("工具版本索引已重建 - 工具数: {}, 文件数: {}", rebuilt.size(), files.size());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 记录文件版本（上传文件后调用）
+     */
+    public void addFile(Long toolId, Long fileId, String version) {
+        if (toolId == null || fileId == null || version == null) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            Map<Long, ToolVersions> current = getIndex();
+            ToolVersions versions = current.get(toolId);
+            Map<Long, String> fileVersions = versions != null ? new HashMap<>(versions.fileVersions) : new HashMap<>();
+            fileVersions.put(fileId, version);
+            current.put(toolId, new ToolVersions(fileVersions));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 移除文件版本（删除文件后调用）
+     */
+    public void removeFile(Long toolId, Long fileId) {
+        if (toolId == null || fileId == null) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            Map<Long, ToolVersions> current = getIndex();
+            ToolVersions versions = current.get(toolId);
+            if (versions == null || !versions.fileVersions.containsKey(fileId)) {
+                return;
+            }
+            Map<Long, String> fileVersions = new HashMap<>(versions.fileVersions);
+            fileVersions.remove(fileId);
+            if (fileVersions.isEmpty()) {
+                current.remove(toolId);
+            } else {
+                current.put(toolId, new ToolVersions(fileVersions));
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 获取工具的最新文件版本
+     *
+     * @return 最新版本号，没有有效的文件版本时返回null
+     */
+    public String getLatestVersion(Long toolId) {
+        ToolVersions versions = getIndex().get(toolId);
+        return versions != null ? versions.latest : null;
+    }
+
+    /**
+     * 获取工具的所有文件版本（从高到低排序、去重）
+     */
+    public List<String> getVersions(Long toolId) {
+        ToolVersions versions = getIndex().get(toolId);
+        return versions != null ? versions.sortedVersions : Collections.emptyList();
+    }
+
+    private Map<Long, ToolVersions> getIndex() {
+        Map<Long, ToolVersions> current = index;
+        if (current == null) {
+            updateLock.lock();
+            try {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            } finally {
+                updateLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 单个工具的版本快照（不可变），版本号只在构建时校验和排序一次
+     */
+    private static final class ToolVersions {
+
+        /**
+         * key: 文件ID
+         * value: 版本号
+         */
+        private final Map<Long, String> fileVersions;
+        private final List<String> sortedVersions;
+        private final String latest;
+
+        private ToolVersions(Map<Long, String> fileVersions) {
+            this.fileVersions = fileVersions;
+
+            // 高版本排在前面，按版本优先级去重
+            TreeSet<SemVer> sorted = new TreeSet<>(Comparator.reverseOrder());
+            for (String version : fileVersions.values()) {
+                SemVer parsed = SemVer.tryParse(version);
+                if (parsed != null) {
+                    sorted.add(parsed);
+                }
+            }
+            List<String> versions = new ArrayList<>(sorted.size());
+            for (SemVer version : sorted) {
+                versions.add(version.toString());
+            }
+            this.sortedVersions = Collections.unmodifiableList(versions);
+            this.latest = versions.isEmpty() ? null : versions.get(0);
+        }
+    }
+}
@@ -3,9 +3,13 @@ package com.company.tooldashboard.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.company.tooldashboard.dto.CursorPage;
 import com.company.tooldashboard.entity.ChangeLog;
 import com.company.tooldashboard.mapper.ChangeLogMapper;
 import com.company.tooldashboard.service.ChangeLogService;
+import com.company.tooldashboard.service.SearchIndex;
+import com.company.tooldashboard.util.CursorUtil;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,6 +20,9 @@ import java.util.List;
 @Service
 public class ChangeLogServiceImpl extends ServiceImpl<ChangeLogMapper, ChangeLog> implements ChangeLogService {
     
+    @Autowired
+    private SearchIndex searchIndex;
+    
     @Override
     public List<ChangeLog> getLogsByToolId(Long toolId) {
         LambdaQueryWrapper<ChangeLog> wrapper = new LambdaQueryWrapper<>();
@@ -36,4 +43,41 @@ public class ChangeLogServiceImpl extends ServiceImpl<ChangeLogMapper, ChangeLog
         wrapper.orderByDesc(ChangeLog::getChangeTime);
         return this.page(page, wrapper);
     }
+    
+    @Override
+    public CursorPage<ChangeLog> getLogCursorPage(String cursor, Integer size, Long toolId, boolean withTotal) {
+        int pageSize = CursorUtil.normalizeSize(size);
+        LambdaQueryWrapper<ChangeLog> wrapper = new LambdaQueryWrapper<>();
+        if (toolId != null) {
+            wrapper.eq(ChangeLog::getToolId, toolId);
+        }
+        CursorUtil.applySeek(wrapper, ChangeLog::getChangeTime, ChangeLog::getId, cursor, pageSize);
+        
+        CursorPage<ChangeLog> page = CursorUtil.toPage(this.list(wrapper), pageSize,
+                ChangeLog::getChangeTime, ChangeLog::getId);
+        if (withTotal) {
+            page.setTotal(this.count(new LambdaQueryWrapper<ChangeLog>()
+                    .eq(toolId != null, ChangeLog::getToolId, toolId)));
+        }
+        return page;
+    }
+    
+    @Override
+    public void addChangeLog(ChangeLog changeLog) {
+        this.save(changeLog);
+        searchIndex.indexChangeLog(changeLog);
+    }
+    
+    @Override
+    public void updateChangeLog(ChangeLog changeLog) {
+        this.updateById(changeLog);
+        // 请求体可能只包含部分字段，按更新后的完整记录重新索引
+        searchIndex.indexChangeLog(this.getById(changeLog.getId()));
+    }
+    
+    @Override
+    public void deleteChangeLog(Long id) {
+        this.removeById(id);
+        searchIndex.remove(SearchIndex.TYPE_CHANGELOG, id);
+    }
 }
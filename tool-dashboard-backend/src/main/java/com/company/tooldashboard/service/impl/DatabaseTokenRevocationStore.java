@@ -0,0 +1,201 @@
+package com.company.tooldashboard.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.company.tooldashboard.entity.RevokedToken;
+import com.company.tooldashboard.mapper.RevokedTokenMapper;
+import com.company.tooldashboard.service.TokenRevocationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 数据库token撤销记录存储（多实例部署，auth.revocation.store=database）
+ *
+ * 撤销时写入 tb_revoked_token，同时立即写入本节点的内存缓存；
+ * 各节点定时按自增ID增量拉取新记录到本地缓存，检查时只读内存，
+ * 其他节点的登出最多延迟一个拉取间隔后生效。
+ *
+ * 自增ID按分配顺序而不是提交顺序可见，每次拉取会回看最近若干个ID，
+ * 避免遗漏晚于更大ID提交的记录（重复拉取的记录直接忽略）
+ *
+ * 数据库是撤销记录的权威来源。本地缓存达到上限放不下某条记录时不淘汰已有条目，
+ * 而是转为缓存未命中时查询数据库；清理过期条目腾出空间后重新全量加载，
+ * 全部放入本地缓存后才恢复只读内存
+ */
+@Service
+@ConditionalOnProperty(name = "auth.revocation.store", havingValue = "database")
+public class DatabaseTokenRevocationStore implements TokenRevocationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseTokenRevocationStore.class);
+
+    @Autowired
+    private RevokedTokenMapper revokedTokenMapper;
+
+    /**
+     * 每次拉取回看的ID数量
+     */
+    @Value("${auth.revocation.poll-overlap:100}")
+    private long pollOverlap;
+
+    /**
+     * 本地缓存条目上限
+     */
+    private final int maxSize;
+
+    /**
+     * 本地缓存
+     */
+    private final MemoryTokenRevocationStore localCache;
+
+    /**
+     * 本地缓存是否缺少记录（曾因达到上限放不下），为true时缓存未命中需查询数据库
+     */
+    private volatile boolean incomplete;
+
+    /**
+     * 串行化写入本地缓存与拉取：拉取完成全量加载后才能清除 incomplete，
+     * 期间登出放不下的记录必须在清除之后重新标记
+     * 拉取过程中会查询数据库，使用 ReentrantLock 而不是 synchronized，避免阻塞的虚拟线程占住载体线程
+     */
+    private final Lock syncLock = new ReentrantLock();
+
+    /**
+     * 已拉取到的最大记录ID
+     */
+    private volatile long lastSeenId;
+
+    public DatabaseTokenRevocationStore(@Value("${auth.blacklist.max-size:100000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.localCache = new MemoryTokenRevocationStore(maxSize);
+    }
+
+    /**
+     * 应用启动完成后加载所有未过期的记录
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        poll();
+    }
+
+    @Override
+    public void revoke(String tokenDigest, long expirationTime) {
+        if (expirationTime <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokenMapper.insertIgnore(tokenDigest, toLocalDateTime(expirationTime));
+        syncLock.lock();
+        try {
+            if (!localCache.tryRevoke(tokenDigest, expirationTime)) {
+                incomplete = true;
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenDigest) {
+        if (localCache.isRevoked(tokenDigest)) {
+            return true;
+        }
+        return incomplete && isRevokedInDatabase(tokenDigest);
+    }
+
+    /**
+     * 查询数据库中是否有未过期的撤销记录，查询失败时按已撤销处理
+     */
+    private boolean isRevokedInDatabase(String tokenDigest) {
+        try {
+            LambdaQueryWrapper<RevokedToken> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(RevokedToken::getTokenDigest, tokenDigest)
+                   .gt(RevokedToken::getExpireTime, LocalDateTime.now());
+            return revokedTokenMapper.selectCount(wrapper) > 0;
+        } catch (Exception e) {
+            logger.error("查询token撤销记录失败，按已撤销处理: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public int size() {
+        return localCache.size();
+    }
+
+    /**
+     * 增量拉取其他节点写入的撤销记录
+     */
+    @Scheduled(initialDelayString = "${auth.revocation.poll-interval:2000}",
+               fixedDelayString = "${auth.revocation.poll-interval:2000}")
+    public void poll() {
+        syncLock.lock();
+        try {
+            localCache.cleanExpired();
+            // 本地缓存缺少记录且已腾出空间时，重新全量加载
+            boolean reload = incomplete && localCache.size() < maxSize;
+            LambdaQueryWrapper<RevokedToken> wrapper = new LambdaQueryWrapper<>();
+            wrapper.select(RevokedToken::getId, RevokedToken::getTokenDigest, RevokedToken::getExpireTime)
+                   .gt(RevokedToken::getId, reload ? 0 : Math.max(0, lastSeenId - pollOverlap))
+                   .gt(RevokedToken::getExpireTime, LocalDateTime.now())
+                   .orderByAsc(RevokedToken::getId);
+            List<RevokedToken> records = revokedTokenMapper.selectList(wrapper);
+
+            long maxId = lastSeenId;
+            boolean complete = true;
+            for (RevokedToken record : records) {
+                if (!localCache.tryRevoke(record.getTokenDigest(), toEpochMilli(record.getExpireTime()))) {
+                    complete = false;
+                }
+                maxId = Math.max(maxId, record.getId());
+            }
+            lastSeenId = maxId;
+            if (!complete) {
+                incomplete = true;
+            } else if (reload) {
+                incomplete = false;
+                logger.info("token撤销记录已全部加载到本地缓存");
+            }
+        } catch (Exception e) {
+            logger.warn("同步token撤销记录失败，继续使用本地缓存: {}", e.getMessage());
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 定时删除数据库中已过期的记录（各节点都会执行，重复删除无副作用）
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval:3600000}")
+    public void purgeExpired() {
+        try {
+            LambdaQueryWrapper<RevokedToken> wrapper = new LambdaQueryWrapper<>();
+            wrapper.lt(RevokedToken::getExpireTime, LocalDateTime.now());
+            int deleted = revokedTokenMapper.delete(wrapper);
+            if (deleted > 0) {
+                logger.info("已清理 {} 条过期的token撤销记录", deleted);
+            }
+        } catch (Exception e) {
+            logger.warn("清理过期token撤销记录失败: {}", e.getMessage());
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -3,30 +3,46 @@ package com.company.tooldashboard.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.company.tooldashboard.config.MetricsConfig;
+import com.company.tooldashboard.dto.BatchUploadResultDTO;
+import com.company.tooldashboard.dto.CursorPage;
+import com.company.tooldashboard.dto.FileUploadResultDTO;
 import com.company.tooldashboard.entity.Tool;
 import com.company.tooldashboard.entity.ToolFile;
 import com.company.tooldashboard.mapper.ToolFileMapper;
+import com.company.tooldashboard.service.DownloadCountService;
 import com.company.tooldashboard.service.FileManagementService;
+import com.company.tooldashboard.service.FilePathCache;
+import com.company.tooldashboard.service.FileStorageService;
+import com.company.tooldashboard.service.SearchIndex;
 import com.company.tooldashboard.service.ToolService;
+import com.company.tooldashboard.service.ToolVersionIndex;
+import com.company.tooldashboard.util.CursorUtil;
+import com.company.tooldashboard.util.FileNameUtil;
 import com.company.tooldashboard.util.SemanticVersionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.UUID;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * 文件管理服务实现类
@@ -43,6 +59,28 @@ public class FileManagementServiceImpl extends ServiceImpl<ToolFileMapper, ToolF
     @Autowired
     private ToolService toolService;
     
+    @Autowired
+    private DownloadCountService downloadCountService;
+    
+    @Autowired
+    private ToolVersionIndex toolVersionIndex;
+    
+    @Autowired
+    private FileStorageService fileStorageService;
+    
+    @Autowired
+    private SearchIndex searchIndex;
+    
+    @Autowired
+    private FilePathCache filePathCache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    @Qualifier("uploadExecutor")
+    private Executor uploadExecutor;
+    
     @Override
     public List<ToolFile> getFilesByToolId(Long toolId) {
         LambdaQueryWrapper<ToolFile> wrapper = new LambdaQueryWrapper<>();
@@ -54,6 +92,28 @@ public class FileManagementServiceImpl extends ServiceImpl<ToolFileMapper, ToolF
         return files;
     }
     
+    @Override
+    public void deleteFile(Long id) {
+        ToolFile toolFile = this.getById(id);
+        if (toolFile == null) {
+            return;
+        }
+        
+        // 删除数据库记录
+        this.removeById(id);
+        downloadCountService.discard(id);
+        toolVersionIndex.removeFile(toolFile.getToolId(), id);
+        searchIndex.remove(SearchIndex.TYPE_FILE, id);
+        filePathCache.invalidate(toolFile.getFilePath());
+        
+        // 删除物理文件（内容寻址存储下仅在没有其他记录引用时删除）
+        try {
+            fileStorageService.release(toolFile);
+        } catch (Exception e) {
+            logger.warn("删除物理文件失败: {}", toolFile.getFilePath(), e);
+        }
+    }
+    
     @Override
     public int deleteFolderByUrlPath(String urlPrefixPath) {
         if (!StringUtils.hasText(urlPrefixPath)) {
@@ -72,12 +132,12 @@ public class FileManagementServiceImpl extends ServiceImpl<ToolFileMapper, ToolF
         int deleted = 0;
         for (ToolFile tf : list) {
             try {
-                Path path = Paths.get(uploadPath, tf.getFilePath().replace("/", java.io.File.separator));
-                java.io.File file = path.toFile();
-                if (file.exists()) {
-                    file.delete();
-                }
                 this.removeById(tf.getId());
+                downloadCountService.discard(tf.getId());
+                toolVersionIndex.removeFile(tf.getToolId(), tf.getId());
+                searchIndex.remove(SearchIndex.TYPE_FILE, tf.getId());
+                filePathCache.invalidate(tf.getFilePath());
+                fileStorageService.release(tf);
                 deleted++;
             } catch (Exception e) {
                 logger.warn("删除文件失败但继续: {}", tf.getFilePath(), e);
@@ -127,153 +187,297 @@ public class FileManagementServiceImpl extends ServiceImpl<ToolFileMapper, ToolF
         return result;
     }
     
+    @Override
+    public CursorPage<ToolFile> getFileCursorPage(String cursor, Integer size, Long toolId, boolean withTotal) {
+        int pageSize = CursorUtil.normalizeSize(size);
+        LambdaQueryWrapper<ToolFile> wrapper = new LambdaQueryWrapper<>();
+        if (toolId != null) {
+            wrapper.eq(ToolFile::getToolId, toolId);
+        }
+        CursorUtil.applySeek(wrapper, ToolFile::getCreateTime, ToolFile::getId, cursor, pageSize);
+        
+        CursorPage<ToolFile> page = CursorUtil.toPage(this.list(wrapper), pageSize,
+                ToolFile::getCreateTime, ToolFile::getId);
+        page.getRecords().forEach(this::fillDownloadUrls);
+        if (withTotal) {
+            page.setTotal(this.count(new LambdaQueryWrapper<ToolFile>()
+                    .eq(toolId != null, ToolFile::getToolId, toolId)));
+        }
+        return page;
+    }
+    
     @Override
     public ToolFile uploadFile(MultipartFile file, Long toolId, String version, String architecture, String description, String uploader) {
         if (file.isEmpty()) {
             throw new RuntimeException("文件不能为空");
         }
         
-        // 校验版本号格式
-        if (!StringUtils.hasText(version)) {
-            throw new RuntimeException("版本号不能为空");
+        validateVersion(version);
+        Tool tool = getUploadTool(toolId);
+        
+        String urlDirectory = buildUrlDirectory(tool, version, architecture);
+        
+        ToolFile toolFile = storeFile(file, getOriginalFilename(file), urlDirectory, toolId,
+                version, architecture, description, uploader);
+        
+        // 保存文件信息到数据库
+        try {
+            this.save(toolFile);
+        } catch (DuplicateKeyException e) {
+            fileStorageService.discard(toolFile);
+            throw new RuntimeException("文件已存在: " + toolFile.getFileName());
+        } catch (RuntimeException e) {
+            fileStorageService.discard(toolFile);
+            throw e;
         }
-        if (!SemanticVersionUtil.isValidSemanticVersion(version)) {
-            throw new RuntimeException("版本号格式不正确，必须符合语义化版本规范（如：1.0.0）");
+        fileStorageService.commit(toolFile);
+        toolVersionIndex.addFile(toolId, toolFile.getId(), version);
+        searchIndex.indexFile(toolFile);
+        filePathCache.invalidate(toolFile.getFilePath());
+        scheduleGzipVariant(toolFile);
+        // 填充下载URL
+        fillDownloadUrls(toolFile);
+        return toolFile;
+    }
+    
+    @Override
+    public BatchUploadResultDTO uploadFiles(List<MultipartFile> files, Long toolId, String version, String architecture, String description, String uploader) {
+        if (files == null || files.isEmpty()) {
+            throw new RuntimeException("文件不能为空");
         }
         
-        // 获取工具信息
-        Tool tool = toolService.getById(toolId);
-        if (tool == null) {
-            throw new RuntimeException("工具不存在，工具ID: " + toolId);
-        }
+        // 工具信息、版本号校验和目标目录对整批文件只处理一次
+        validateVersion(version);
+        Tool tool = getUploadTool(toolId);
+        String urlDirectory = buildUrlDirectory(tool, version, architecture);
         
-        try {
-            // 获取原始文件名
-            String originalFilename = file.getOriginalFilename();
-            if (originalFilename == null || originalFilename.isEmpty()) {
-                originalFilename = "file_" + System.currentTimeMillis();
+        ToolFile[] stored = new ToolFile[files.size()];
+        String[] errors = new String[files.size()];
+        
+        // 在有界线程池中并行写盘
+        // 安全化后文件名相同的文件会写入同一目标路径，只写入第一个，其余在提交前直接判定失败
+        List<CompletableFuture<ToolFile>> futures = new ArrayList<>(files.size());
+        Set<String> fileNames = new HashSet<>();
+        for (MultipartFile file : files) {
+            String originalFilename = getOriginalFilename(file);
+            if (!fileNames.add(FileNameUtil.sanitizeKeepReadable(originalFilename))) {
+                futures.add(null);
+                continue;
             }
-            
-            // 安全化文件名（移除特殊字符，但保留可读性）
-            String safeFileName = sanitizeFileNameKeepReadable(originalFilename);
-            
-            String fileName;
-            
-            // 处理文件名和扩展名
-            int lastDotIndex = safeFileName.lastIndexOf('.');
-            if (lastDotIndex > 0 && lastDotIndex < safeFileName.length() - 1) {
-                // 有扩展名
-                String nameWithoutExt = safeFileName.substring(0, lastDotIndex);
-                String extension = safeFileName.substring(lastDotIndex);
-                fileName = nameWithoutExt + extension;
-            } else {
-                // 没有扩展名
-                fileName = safeFileName;
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                if (file.isEmpty()) {
+                    throw new RuntimeException("文件不能为空");
+                }
+                return storeFile(file, originalFilename, urlDirectory, toolId, version, architecture, description, uploader);
+            }, uploadExecutor));
+        }
+        
+        List<ToolFile> toSave = new ArrayList<>(files.size());
+        for (int i = 0; i < futures.size(); i++) {
+            if (futures.get(i) == null) {
+                errors[i] = "同一批次中存在同名文件";
+                logger.warn("批量上传中文件名重复 - 工具ID: {}, 文件: {}", toolId, files.get(i).getOriginalFilename());
+                continue;
             }
-            
-            // 根据工具类型、名称、版本号和架构分目录存储
-            // 文件路径格式: {toolType}/{toolName}/{version}/{architecture}/{fileName}
-            // 如果没有架构，则: {toolType}/{toolName}/{version}/{fileName}
-            String toolType = sanitizeFileName(tool.getType() != null ? tool.getType() : "default");
-            String toolName = sanitizeFileName(tool.getName());
-            String safeVersion = sanitizeFileName(version);
-            
-            // 构建URL路径：使用正斜杠（用于数据库存储和URL访问）
-            StringBuilder urlPathBuilder = new StringBuilder();
-            urlPathBuilder.append(toolType).append("/").append(toolName).append("/").append(safeVersion);
-            
-            // 构建文件系统路径：使用系统分隔符（用于实际文件存储）
-            StringBuilder relativePathBuilder = new StringBuilder();
-            relativePathBuilder.append(toolType).append(File.separator)
-                              .append(toolName).append(File.separator)
-                              .append(safeVersion);
-            
-            // 如果提供了架构，添加架构层级
-            if (StringUtils.hasText(architecture)) {
-                String safeArchitecture = sanitizeFileName(architecture);
-                urlPathBuilder.append("/").append(safeArchitecture);
-                relativePathBuilder.append(File.separator).append(safeArchitecture);
+            try {
+                stored[i] = futures.get(i).join();
+                toSave.add(stored[i]);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                errors[i] = cause.getMessage();
+                logger.warn("批量上传中文件写入失败 - 工具ID: {}, 文件: {}, 原因: {}",
+                           toolId, files.get(i).getOriginalFilename(), cause.getMessage());
             }
-            
-            String urlPath = urlPathBuilder.toString();
-            String relativePath = relativePathBuilder.toString();
-            String fullPath = uploadPath + File.separator + relativePath;
-            
-            // 创建目录
-            Path directory = Paths.get(fullPath);
-            if (!Files.exists(directory)) {
-                Files.createDirectories(directory);
-                logger.info("创建上传目录: {}", directory);
+        }
+        
+        // 所有写盘成功的文件一次批量入库
+        if (!toSave.isEmpty()) {
+            try {
+                this.saveBatch(toSave);
+            } catch (Exception e) {
+                logger.error("批量上传文件入库失败 - 工具ID: {}, 原因: {}", toolId, e.getMessage(), e);
+                // 同一路径已被并发上传占用时整批回滚
+                String error = e instanceof DuplicateKeyException
+                        ? "文件信息保存失败：同一路径的文件已存在" : "文件信息保存失败：" + e.getMessage();
+                for (int i = 0; i < stored.length; i++) {
+                    if (stored[i] != null) {
+                        fileStorageService.discard(stored[i]);
+                        stored[i] = null;
+                        errors[i] = error;
+                    }
+                }
+                toSave.clear();
             }
-            
-            // 保存文件
-            Path filePath = Paths.get(fullPath, fileName);
-            Files.copy(file.getInputStream(), filePath);
-            
-            logger.info("工具文件上传成功 - 工具: {}/{}, 版本: {}, 架构: {}, 文件名: {}, 大小: {} bytes", 
-                       toolType, toolName, version, architecture != null ? architecture : "无", originalFilename, file.getSize());
-            
-            // 保存文件信息到数据库
-            ToolFile toolFile = new ToolFile();
-            toolFile.setToolId(toolId);
-            toolFile.setFileName(fileName);
-            toolFile.setOriginalName(originalFilename);
-            // 数据库存储使用URL格式的路径（正斜杠）
-            toolFile.setFilePath(urlPath + "/" + fileName);
-            toolFile.setFileSize(file.getSize());
-            toolFile.setFileType(file.getContentType());
-            toolFile.setVersion(version);
-            toolFile.setArchitecture(architecture);
-            toolFile.setDescription(description);
-            toolFile.setUploader(uploader);
-            toolFile.setDownloadCount(0);
-            
-            this.save(toolFile);
-            // 填充下载URL
+        }
+        for (ToolFile toolFile : toSave) {
+            fileStorageService.commit(toolFile);
+            toolVersionIndex.addFile(toolId, toolFile.getId(), version);
+            searchIndex.indexFile(toolFile);
+            filePathCache.invalidate(toolFile.getFilePath());
+            scheduleGzipVariant(toolFile);
             fillDownloadUrls(toolFile);
-            return toolFile;
-            
-        } catch (IOException e) {
-            logger.error("工具文件上传失败 - 工具ID: {}, 原因: {}", toolId, e.getMessage(), e);
-            throw new RuntimeException("文件上传失败：" + e.getMessage());
         }
+        
+        List<FileUploadResultDTO> results = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            String originalName = files.get(i).getOriginalFilename();
+            if (stored[i] != null) {
+                results.add(new FileUploadResultDTO(originalName, true, null, stored[i]));
+            } else {
+                results.add(new FileUploadResultDTO(originalName, false, errors[i], null));
+            }
+        }
+        return new BatchUploadResultDTO(results, toSave.size(), files.size() - toSave.size());
     }
     
     @Override
-    public List<ToolFile> uploadFiles(List<MultipartFile> files, Long toolId, String version, String architecture, String description, String uploader) {
-        if (files == null || files.isEmpty()) {
-            throw new RuntimeException("文件不能为空");
+    public ToolFile prepareUpload(Long toolId, String version, String architecture, String originalFilename) {
+        validateVersion(version);
+        Tool tool = getUploadTool(toolId);
+        String urlDirectory = buildUrlDirectory(tool, version, architecture);
+        
+        if (originalFilename == null || originalFilename.isEmpty()) {
+            originalFilename = "file_" + System.currentTimeMillis();
         }
-        List<ToolFile> results = new ArrayList<>();
-        for (MultipartFile file : files) {
-            results.add(uploadFile(file, toolId, version, architecture, description, uploader));
+        String fileName = FileNameUtil.sanitizeKeepReadable(originalFilename);
+        String urlPath = urlDirectory + "/" + fileName;
+        if (FileStorageService.isInternalPath(urlPath)) {
+            throw new RuntimeException("文件路径不合法: " + urlPath);
         }
-        return results;
+        
+        ToolFile toolFile = new ToolFile();
+        toolFile.setToolId(toolId);
+        toolFile.setFileName(fileName);
+        toolFile.setOriginalName(originalFilename);
+        toolFile.setFilePath(urlPath);
+        toolFile.setVersion(version);
+        toolFile.setArchitecture(architecture);
+        toolFile.setDownloadCount(0);
+        return toolFile;
+    }
+    
+    @Override
+    public ToolFile saveUploadedFile(ToolFile toolFile) {
+        try {
+            this.save(toolFile);
+        } catch (DuplicateKeyException e) {
+            fileStorageService.discard(toolFile);
+            throw new RuntimeException("文件已存在: " + toolFile.getFileName());
+        } catch (RuntimeException e) {
+            fileStorageService.discard(toolFile);
+            throw e;
+        }
+        fileStorageService.commit(toolFile);
+        toolVersionIndex.addFile(toolFile.getToolId(), toolFile.getId(), toolFile.getVersion());
+        searchIndex.indexFile(toolFile);
+        filePathCache.invalidate(toolFile.getFilePath());
+        scheduleGzipVariant(toolFile);
+        fillDownloadUrls(toolFile);
+        return toolFile;
     }
     
     /**
-     * 文件名安全化处理，移除不安全的字符（用于目录名）
+     * 校验版本号格式
      */
-    private String sanitizeFileName(String name) {
-        if (name == null || name.isEmpty()) {
-            return "unknown";
+    private void validateVersion(String version) {
+        if (!StringUtils.hasText(version)) {
+            throw new RuntimeException("版本号不能为空");
         }
-        // 移除或替换文件系统不支持的字符
-        return name.replaceAll("[\\\\/:*?\"<>|]", "_")
-                   .replaceAll("\\s+", "_")
-                   .toLowerCase();
+        if (!SemanticVersionUtil.isValidSemanticVersion(version)) {
+            throw new RuntimeException("版本号格式不正确，必须符合语义化版本规范（如：1.0.0）");
+        }
+    }
+    
+    /**
+     * 获取上传目标工具
+     */
+    private Tool getUploadTool(Long toolId) {
+        Tool tool = toolService.getToolDetail(toolId);
+        if (tool == null) {
+            throw new RuntimeException("工具不存在，工具ID: " + toolId);
+        }
+        return tool;
+    }
+    
+    /**
+     * 根据工具类型、名称、版本号和架构构建存储目录（URL格式，正斜杠分隔）
+     * 文件路径格式: {toolType}/{toolName}/{version}/{architecture}/{fileName}
+     * 如果没有架构，则: {toolType}/{toolName}/{version}/{fileName}
+     */
+    private String buildUrlDirectory(Tool tool, String version, String architecture) {
+        String toolType = FileNameUtil.sanitize(tool.getType() != null ? tool.getType() : "default");
+        String toolName = FileNameUtil.sanitize(tool.getName());
+        String safeVersion = FileNameUtil.sanitize(version);
+        
+        StringBuilder urlPathBuilder = new StringBuilder();
+        urlPathBuilder.append(toolType).append("/").append(toolName).append("/").append(safeVersion);
+        
+        // 如果提供了架构，添加架构层级
+        if (StringUtils.hasText(architecture)) {
+            urlPathBuilder.append("/").append(FileNameUtil.sanitize(architecture));
+        }
+        return urlPathBuilder.toString();
     }
     
     /**
-     * 文件名安全化处理，保留可读性（用于实际文件名）
-     * 只替换文件系统不支持的字符，保留中文、数字、字母等
+     * 获取上传文件的原始文件名，没有文件名时按时间生成
      */
-    private String sanitizeFileNameKeepReadable(String name) {
-        if (name == null || name.isEmpty()) {
-            return "unknown.file";
+    private String getOriginalFilename(MultipartFile file) {
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null || originalFilename.isEmpty()) {
+            originalFilename = "file_" + System.currentTimeMillis();
         }
-        // 只替换文件系统不支持的特殊字符，保留其他字符
-        return name.replaceAll("[\\\\/:*?\"<>|]", "_");
+        return originalFilename;
+    }
+    
+    /**
+     * 将上传文件写入存储，返回待入库的文件信息
+     */
+    private ToolFile storeFile(MultipartFile file, String originalFilename, String urlDirectory, Long toolId,
+                               String version, String architecture, String description, String uploader) {
+        // 安全化文件名（移除特殊字符，但保留可读性）
+        String fileName = FileNameUtil.sanitizeKeepReadable(originalFilename);
+        
+        String urlPath = urlDirectory + "/" + fileName;
+        String contentHash;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (InputStream input = file.getInputStream()) {
+            // 保存文件（内容寻址存储模式下同时计算内容哈希）
+            contentHash = fileStorageService.store(input, urlPath);
+            sample.stop(meterRegistry.timer(MetricsConfig.UPLOAD_DURATION, "type", "multipart", "result", "success"));
+            meterRegistry.counter(MetricsConfig.UPLOAD_BYTES, "type", "multipart").increment(file.getSize());
+            
+            logger.info("工具文件上传成功 - 目录: {}, 版本: {}, 架构: {}, 文件名: {}, 大小: {} bytes", 
+                       urlDirectory, version, architecture != null ? architecture : "无", originalFilename, file.getSize());
+        } catch (IOException e) {
+            sample.stop(meterRegistry.timer(MetricsConfig.UPLOAD_DURATION, "type", "multipart", "result", "failure"));
+            logger.error("工具文件上传失败 - 工具ID: {}, 原因: {}", toolId, e.getMessage(), e);
+            throw new RuntimeException("文件上传失败：" + e.getMessage());
+        }
+        
+        ToolFile toolFile = new ToolFile();
+        toolFile.setToolId(toolId);
+        toolFile.setFileName(fileName);
+        toolFile.setOriginalName(originalFilename);
+        // 数据库存储使用URL格式的路径（正斜杠）
+        toolFile.setFilePath(urlPath);
+        toolFile.setContentHash(contentHash);
+        toolFile.setFileSize(file.getSize());
+        toolFile.setFileType(file.getContentType());
+        toolFile.setVersion(version);
+        toolFile.setArchitecture(architecture);
+        toolFile.setDescription(description);
+        toolFile.setUploader(uploader);
+        toolFile.setDownloadCount(0);
+        return toolFile;
+    }
+    
+    /**
+     * 文本类文件在后台生成预压缩版本，生成后使路径缓存失效
+     */
+    private void scheduleGzipVariant(ToolFile toolFile) {
+        String filePath = toolFile.getFilePath();
+        fileStorageService.scheduleGzipVariant(toolFile, () -> filePathCache.invalidate(filePath));
     }
     
     /**
@@ -299,14 +503,6 @@ public class FileManagementServiceImpl extends ServiceImpl<ToolFileMapper, ToolF
     
     @Override
     public void increaseDownloadCount(Long fileId) {
-        ToolFile toolFile = this.getById(fileId);
-        if (toolFile != null) {
-            toolFile.setDownloadCount(toolFile.getDownloadCount() + 1);
-            this.updateById(toolFile);
-            logger.debug("文件下载计数增加 - 文件ID: {}, 文件名: {}, 当前计数: {}", 
-                        fileId, toolFile.getOriginalName(), toolFile.getDownloadCount());
-        } else {
-            logger.warn("尝试增加不存在文件的下载计数 - 文件ID: {}", fileId);
-        }
+        downloadCountService.increment(fileId);
     }
 }
@@ -0,0 +1,129 @@
+package com.company.tooldashboard.service.impl;
+
+import com.company.tooldashboard.service.TokenRevocationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内存token撤销记录存储（单实例部署，auth.revocation.store=memory，默认）
+ * 同时作为 DatabaseTokenRevocationStore 的本地缓存
+ *
+ * 另用按过期时间排序的队列管理过期：每次只从队首移除已过期的条目，不需要遍历全部记录。
+ * 条目数有硬上限，达到上限时拒绝新的撤销（登出失败），不淘汰未过期的条目：
+ * 淘汰任何一条都会让对应的已登出token重新生效
+ */
+@Service
+@ConditionalOnProperty(name = "auth.revocation.store", havingValue = "memory", matchIfMissing = true)
+public class MemoryTokenRevocationStore implements TokenRevocationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemoryTokenRevocationStore.class);
+
+    /**
+     * 最大条目数
+     */
+    private final int maxSize;
+
+    /**
+     * key: token摘要
+     * value: 过期时间戳（毫秒）
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * 按过期时间排序的队列，只在持有 expiryQueue 锁时访问
+     */
+    private final PriorityQueue<Expiry> expiryQueue = new PriorityQueue<>();
+
+    public MemoryTokenRevocationStore(@Value("${auth.blacklist.max-size:100000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void revoke(String tokenDigest, long expirationTime) {
+        if (!tryRevoke(tokenDigest, expirationTime)) {
+            throw new RuntimeException("已登出token数量已达上限，请稍后重试");
+        }
+    }
+
+    /**
+     * 记录已撤销的token，达到上限时不记录
+     *
+     * @return 已记录（或token已过期、已撤销）返回true，清理过期条目后仍达到上限返回false
+     */
+    boolean tryRevoke(String tokenDigest, long expirationTime) {
+        long now = System.currentTimeMillis();
+        if (expirationTime <= now) {
+            return true;
+        }
+        synchronized (expiryQueue) {
+            purgeExpired(now);
+            if (revoked.containsKey(tokenDigest)) {
+                return true;
+            }
+            if (revoked.size() >= maxSize) {
+                logger.error("token撤销记录已达上限 {}，无法记录新的撤销，请调大 auth.blacklist.max-size", maxSize);
+                return false;
+            }
+            revoked.put(tokenDigest, expirationTime);
+            expiryQueue.add(new Expiry(tokenDigest, expirationTime));
+            return true;
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenDigest) {
+        Long expirationTime = revoked.get(tokenDigest);
+        // 已过期的条目由过期队列统一清理
+        return expirationTime != null && System.currentTimeMillis() <= expirationTime;
+    }
+
+    @Override
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * 定时清理已过期的条目，没有新的登出请求时也能及时释放内存
+     */
+    @Scheduled(fixedDelayString = "${auth.blacklist.cleanup-interval:60000}")
+    public void cleanExpired() {
+        synchronized (expiryQueue) {
+            purgeExpired(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 从队首移除已过期的条目，调用方必须持有 expiryQueue 锁
+     */
+    private void purgeExpired(long now) {
+        Expiry head;
+        while ((head = expiryQueue.peek()) != null && head.expirationTime < now) {
+            expiryQueue.poll();
+            revoked.remove(head.digest);
+        }
+    }
+
+    private static final class Expiry implements Comparable<Expiry> {
+
+        private final String digest;
+        private final long expirationTime;
+
+        private Expiry(String digest, long expirationTime) {
+            this.digest = digest;
+            this.expirationTime = expirationTime;
+        }
+
+        @Override
+        public int compareTo(Expiry other) {
+            return Long.compare(expirationTime, other.expirationTime);
+        }
+    }
+}
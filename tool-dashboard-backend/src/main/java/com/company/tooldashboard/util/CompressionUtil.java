@@ -0,0 +1,126 @@
+package com.company.tooldashboard.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 预压缩工具类
+ * 上传后为文本类文件生成 gzip 压缩版本，下载时直接发送，不在每次请求时消耗CPU压缩
+ */
+public final class CompressionUtil {
+
+    /**
+     * 压缩版本文件后缀
+     */
+    public static final String GZIP_SUFFIX = ".gz";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 可压缩的文件扩展名（浏览器上传时 Content-Type 经常是 application/octet-stream，需按扩展名补充判断）
+     */
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = Set.of(
+        "txt", "log", "md", "csv", "tsv",
+        "json", "xml", "yaml", "yml", "toml", "ini", "conf", "cfg", "properties",
+        "html", "htm", "css", "js", "mjs", "ts", "map", "svg",
+        "sh", "bash", "ps1", "bat", "cmd", "py", "sql"
+    );
+
+    private CompressionUtil() {
+    }
+
+    /**
+     * 判断文件内容是否值得预压缩
+     *
+     * @param fileName 文件名
+     * @param contentType 上传时的 Content-Type，可为null
+     */
+    public static boolean isCompressible(String fileName, String contentType) {
+        if (contentType != null) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/")
+                    || type.contains("json")
+                    || type.contains("xml")
+                    || type.contains("javascript")
+                    || type.contains("yaml")
+                    || type.equals("application/x-sh")) {
+                return true;
+            }
+        }
+        if (fileName == null) {
+            return false;
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && COMPRESSIBLE_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 以最高压缩级别将文件压缩为 gzip 格式
+     *
+     * @param source 源文件
+     * @param target 压缩文件（已存在时覆盖）
+     * @return 压缩后的字节数
+     */
+    public static long gzip(Path source, Path target) throws IOException {
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = new BestCompressionGzipOutputStream(Files.newOutputStream(target))) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return Files.size(target);
+    }
+
+    /**
+     * 判断客户端是否接受 gzip 编码
+     * Accept-Encoding 中显式列出 gzip 时以其 q 值为准，否则看通配符 *，q=0 表示不接受
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = accepted;
+            } else if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        if (gzip != null) {
+            return gzip;
+        }
+        return wildcard != null && wildcard;
+    }
+
+    private static final class BestCompressionGzipOutputStream extends GZIPOutputStream {
+
+        private BestCompressionGzipOutputStream(OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.company.tooldashboard.util;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.company.tooldashboard.dto.CursorPage;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页工具类
+ * 记录按 (时间 DESC, id DESC) 排序，游标保存上一页最后一条记录的 (时间, id)，
+ * 下一页查询条件为 时间 < t OR (时间 = t AND id < id)，可以直接在 (时间, id) 联合索引上定位。
+ *
+ * MySQL 降序排列时 NULL 排在最后，时间为空的记录只按 id 继续翻页。
+ * 游标对客户端不透明（Base64URL 编码），客户端只需原样回传
+ */
+public final class CursorUtil {
+
+    /**
+     * 默认每页条数
+     */
+    public static final int DEFAULT_SIZE = 20;
+
+    /**
+     * 每页最大条数
+     */
+    public static final int MAX_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private CursorUtil() {
+    }
+
+    /**
+     * 规范化每页条数
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * 为查询加上游标定位条件与排序，并多查一条用于判断是否还有下一页
+     *
+     * @param wrapper 已包含其他筛选条件的查询
+     * @param timeColumn 排序时间列
+     * @param idColumn 主键列
+     * @param cursor 上一页返回的游标，为空时从第一条开始
+     * @param size 每页条数（已规范化）
+     */
+    public static <T> void applySeek(LambdaQueryWrapper<T> wrapper, SFunction<T, LocalDateTime> timeColumn,
+                                     SFunction<T, Long> idColumn, String cursor, int size) {
+        if (StringUtils.hasText(cursor)) {
+            Position position = decode(cursor);
+            if (position.time != null) {
+                wrapper.and(w -> w.lt(timeColumn, position.time)
+                        .or(x -> x.eq(timeColumn, position.time).lt(idColumn, position.id))
+                        .or().isNull(timeColumn));
+            } else {
+                wrapper.isNull(timeColumn).lt(idColumn, position.id);
+            }
+        }
+        wrapper.orderByDesc(timeColumn).orderByDesc(idColumn)
+               .last("LIMIT " + (size + 1));
+    }
+
+    /**
+     * 由多查一条的结果构建分页结果
+     *
+     * @param rows applySeek 查询返回的记录（最多 size + 1 条）
+     * @param size 每页条数（已规范化）
+     */
+    public static <T> CursorPage<T> toPage(List<T> rows, int size, Function<T, LocalDateTime> timeGetter,
+                                           Function<T, Long> idGetter) {
+        CursorPage<T> page = new CursorPage<>();
+        boolean hasMore = rows.size() > size;
+        List<T> records = hasMore ? rows.subList(0, size) : rows;
+        page.getRecords().addAll(records);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            T last = records.get(records.size() - 1);
+            page.setNextCursor(encode(timeGetter.apply(last), idGetter.apply(last)));
+        }
+        return page;
+    }
+
+    /**
+     * 编码游标
+     */
+    public static String encode(LocalDateTime time, Long id) {
+        String raw = (time != null ? time.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @throws IllegalArgumentException 如果游标格式不正确
+     */
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException(raw);
+            }
+            String time = raw.substring(0, separator);
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new Position(time.isEmpty() ? null : LocalDateTime.parse(time), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+    }
+
+    /**
+     * 游标位置：上一页最后一条记录的排序时间与ID
+     */
+    public static final class Position {
+
+        private final LocalDateTime time;
+        private final long id;
+
+        private Position(LocalDateTime time, long id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        public LocalDateTime getTime() {
+            return time;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.tooldashboard.util;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 文件名安全化工具类
+ * 正则只在类加载时编译一次，不在每次调用 String.replaceAll 时重复编译
+ */
+public final class FileNameUtil {
+
+    /**
+     * 文件系统不支持的字符
+     */
+    private static final Pattern UNSAFE_CHARS = Pattern.compile("[\\\\/:*?\"<>|]");
+
+    /**
+     * 连续空白字符
+     */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private FileNameUtil() {
+    }
+
+    /**
+     * 文件名安全化处理，移除不安全的字符（用于目录名）
+     * 特殊字符和空白替换为下划线，并转为小写
+     */
+    public static String sanitize(String name) {
+        if (name == null || name.isEmpty()) {
+            return "unknown";
+        }
+        String replaced = UNSAFE_CHARS.matcher(name).replaceAll("_");
+        return WHITESPACE.matcher(replaced).replaceAll("_").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 文件名安全化处理，保留可读性（用于实际文件名）
+     * 只替换文件系统不支持的字符，保留中文、数字、字母等
+     */
+    public static String sanitizeKeepReadable(String name) {
+        if (name == null || name.isEmpty()) {
+            return "unknown.file";
+        }
+        return UNSAFE_CHARS.matcher(name).replaceAll("_");
+    }
+}
@@ -0,0 +1,223 @@
+package com.company.tooldashboard.util;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * HTTP Range 请求工具类
+ * 遵循 RFC 7233 (https://www.rfc-editor.org/rfc/rfc7233)
+ * 支持格式：bytes=0-499, bytes=500-, bytes=-500, bytes=0-0,-1
+ */
+public class HttpRangeUtil {
+
+    /**
+     * 单次请求允许的最大区间数量，超过则忽略 Range 头返回完整文件
+     */
+    private static final int MAX_RANGES = 64;
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    /**
+     * 解析 Range 请求头
+     *
+     * @param rangeHeader Range 请求头
+     * @param fileLength 文件总长度
+     * @return null 表示忽略 Range 头（未携带或格式不正确），按完整文件返回；
+     *         空列表表示所有区间都无法满足（应返回 416）；
+     *         否则返回按起始位置排序并合并后的区间列表
+     */
+    public static List<ByteRange> parseRanges(String rangeHeader, long fileLength) {
+        if (rangeHeader == null || rangeHeader.isEmpty()) {
+            return null;
+        }
+        if (!rangeHeader.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+
+        String[] specs = rangeHeader.substring(BYTES_UNIT.length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+
+        List<ByteRange> ranges = new ArrayList<>(specs.length);
+        boolean hasSpec = false;
+        for (String rawSpec : specs) {
+            String spec = rawSpec.trim();
+            if (spec.isEmpty()) {
+                continue;
+            }
+            hasSpec = true;
+
+            int dashIndex = spec.indexOf('-');
+            if (dashIndex < 0) {
+                return null;
+            }
+
+            String firstPart = spec.substring(0, dashIndex).trim();
+            String lastPart = spec.substring(dashIndex + 1).trim();
+
+            if (firstPart.isEmpty()) {
+                // 后缀区间：bytes=-500 表示最后500字节
+                long suffixLength = parseNonNegative(lastPart);
+                if (suffixLength < 0) {
+                    return null;
+                }
+                if (suffixLength > 0 && fileLength > 0) {
+                    long start = Math.max(0, fileLength - suffixLength);
+                    ranges.add(new ByteRange(start, fileLength - 1));
+                }
+                continue;
+            }
+
+            long start = parseNonNegative(firstPart);
+            if (start < 0) {
+                return null;
+            }
+            long end;
+            if (lastPart.isEmpty()) {
+                end = fileLength - 1;
+            } else {
+                end = parseNonNegative(lastPart);
+                if (end < 0 || end < start) {
+                    return null;
+                }
+                end = Math.min(end, fileLength - 1);
+            }
+
+            // 起始位置超出文件长度的区间无法满足，直接跳过
+            if (start < fileLength) {
+                ranges.add(new ByteRange(start, end));
+            }
+        }
+
+        if (!hasSpec) {
+            return null;
+        }
+        return coalesce(ranges);
+    }
+
+    /**
+     * 按起始位置排序并合并重叠或相邻的区间，避免重复区间造成的响应放大
+     */
+    private static List<ByteRange> coalesce(List<ByteRange> ranges) {
+        if (ranges.size() <= 1) {
+            return ranges;
+        }
+        List<ByteRange> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(ByteRange::getStart));
+
+        List<ByteRange> merged = new ArrayList<>(sorted.size());
+        ByteRange current = sorted.get(0);
+        for (int i = 1; i < sorted.size(); i++) {
+            ByteRange next = sorted.get(i);
+            if (next.getStart() <= current.getEnd() + 1) {
+                current = new ByteRange(current.getStart(), Math.max(current.getEnd(), next.getEnd()));
+            } else {
+                merged.add(current);
+                current = next;
+            }
+        }
+        merged.add(current);
+        return Collections.unmodifiableList(merged);
+    }
+
+    /**
+     * 解析非负整数，格式不正确或溢出时返回 -1
+     */
+    private static long parseNonNegative(String value) {
+        if (value.isEmpty() || value.length() > 18) {
+            return -1;
+        }
+        long result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * 根据文件大小和最后修改时间生成强校验 ETag
+     * 同一文件在不同节点、重启前后保持一致
+     */
+    public static String buildETag(long fileLength, long lastModified) {
+        return "\"" + Long.toHexString(fileLength) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * 根据文件内容哈希生成强 ETag
+     */
+    public static String buildETag(String contentHash) {
+        return "\"" + contentHash + "\"";
+    }
+
+    /**
+     * 判断 If-Range 条件是否成立
+     * If-Range 可以是 ETag（强比较）或 HTTP 日期（与最后修改时间精确匹配）
+     *
+     * @param ifRange If-Range 请求头
+     * @param etag 当前文件的 ETag
+     * @param lastModified 当前文件的最后修改时间（毫秒）
+     * @return true 表示可以按 Range 返回部分内容，false 表示应返回完整文件
+     */
+    public static boolean matchesIfRange(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("W/")) {
+            // 弱 ETag 不能用于 If-Range
+            return false;
+        }
+        if (value.startsWith("\"")) {
+            return value.equals(etag);
+        }
+        try {
+            long ifRangeTime = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return ifRangeTime / 1000 == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 字节区间（闭区间）
+     */
+    public static class ByteRange {
+        private final long start;
+        private final long end;
+
+        public ByteRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public long getLength() {
+            return end - start + 1;
+        }
+
+        /**
+         * 生成 Content-Range 响应头的值
+         */
+        public String toContentRange(long fileLength) {
+            return "bytes " + start + "-" + end + "/" + fileLength;
+        }
+    }
+}
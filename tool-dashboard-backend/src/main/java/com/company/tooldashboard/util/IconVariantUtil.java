@@ -0,0 +1,186 @@
+package com.company.tooldashboard.util;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 图标尺寸变体工具类
+ * 上传图标时生成多个尺寸的缩略图，与原图保存在同一目录：{原文件名}_{尺寸}.{png|jpg}
+ * 使用 javax.imageio 编解码，不依赖外部库；SVG为矢量图，不生成变体
+ */
+public final class IconVariantUtil {
+
+    /**
+     * 变体尺寸（最长边像素），从小到大
+     */
+    private static final int[] SIZES = {32, 64, 128};
+
+    /**
+     * 原图宽、高上限（像素）
+     * 解码后每像素占4字节，4096x4096 的图片解码需要64MB堆内存；
+     * 很小的 PNG/GIF 文件可以声明极大的尺寸（解压炸弹），必须在解码前拒绝
+     */
+    private static final int MAX_DIMENSION = 4096;
+
+    private IconVariantUtil() {
+    }
+
+    /**
+     * 为图标生成尺寸变体，原图最长边不超过目标尺寸时跳过该尺寸
+     *
+     * @param original 原图路径
+     * @return 生成的变体文件名
+     * @throws IOException 读取原图或写入变体失败，或原图尺寸超过上限
+     */
+    public static List<String> generateVariants(Path original) throws IOException {
+        List<String> generated = new ArrayList<>();
+        String fileName = original.getFileName().toString();
+        String format = getVariantFormat(fileName);
+        if (format == null) {
+            return generated;
+        }
+
+        BufferedImage image = readImage(original);
+        if (image == null) {
+            // ImageIO 无法识别的格式
+            return generated;
+        }
+
+        int longestSide = Math.max(image.getWidth(), image.getHeight());
+        for (int size : SIZES) {
+            if (longestSide <= size) {
+                break;
+            }
+            BufferedImage scaled = scale(image, size, "png".equals(format));
+            String variantName = getVariantName(fileName, size);
+            Path target = original.resolveSibling(variantName);
+            Path temp = original.resolveSibling(variantName + ".tmp");
+            try {
+                if (!ImageIO.write(scaled, format, temp.toFile())) {
+                    throw new IOException("不支持的图片输出格式: " + format);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            generated.add(variantName);
+        }
+        return generated;
+    }
+
+    /**
+     * 读取图片：先从文件头读取宽高，超过上限时不解码直接拒绝
+     *
+     * @return 解码后的图片（多帧图片为第一帧），ImageIO 无法识别的格式返回null
+     * @throws IOException 读取失败或尺寸超过上限
+     */
+    private static BufferedImage readImage(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > MAX_DIMENSION || height > MAX_DIMENSION) {
+                    throw new IOException("图片尺寸 " + width + "x" + height + " 超过上限 "
+                            + MAX_DIMENSION + "x" + MAX_DIMENSION);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 根据请求的显示尺寸选择变体：不小于请求尺寸的最小变体
+     *
+     * @param fileName 原图文件名
+     * @param requestedSize 请求的显示尺寸（像素）
+     * @return 变体文件名，请求尺寸大于所有变体或该格式没有变体时返回null（使用原图）
+     */
+    public static String selectVariant(String fileName, int requestedSize) {
+        if (getVariantFormat(fileName) == null) {
+            return null;
+        }
+        for (int size : SIZES) {
+            if (size >= requestedSize) {
+                return getVariantName(fileName, size);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 变体文件名：{原文件名去扩展名}_{尺寸}.{png|jpg}
+     */
+    private static String getVariantName(String fileName, int size) {
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return baseName + "_" + size + "." + getVariantFormat(fileName);
+    }
+
+    /**
+     * 变体输出格式：JPEG保持JPEG，PNG/GIF等输出PNG（保留透明通道），SVG返回null
+     */
+    private static String getVariantFormat(String fileName) {
+        String lower = fileName.toLowerCase();
+        if (lower.endsWith(".svg")) {
+            return null;
+        }
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) {
+            return "jpg";
+        }
+        return "png";
+    }
+
+    /**
+     * 等比缩放到最长边为 size，每次最多缩小一半，逐级缩小以保证缩略图质量
+     */
+    private static BufferedImage scale(BufferedImage source, int size, boolean alpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = (double) size / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+}
@@ -1,37 +1,78 @@
 package com.company.tooldashboard.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * JWT工具类
+ * 签名密钥与解析器在启动时构建一次（JwtParser 线程安全），
+ * 已验证的token按摘要缓存其 Claims，直到token过期，重复请求无需再次验签
  */
 @Component
 public class JwtUtil {
-    
+
+    /**
+     * 请求属性名：拦截器解析出的 Claims，供后续处理复用，避免重复解析
+     */
+    public static final String CLAIMS_ATTRIBUTE = "jwtClaims";
+
     @Value("${jwt.secret}")
     private String secret;
-    
+
     @Value("${jwt.expiration}")
     private Long expiration;
-    
+
+    /**
+     * 已验证token缓存的最大条目数
+     */
+    @Value("${jwt.verified-cache-size:1024}")
+    private int verifiedCacheSize;
+
+    private SecretKey key;
+
+    private JwtParser parser;
+
+    /**
+     * 已验证的token
+     * key: token摘要
+     * value: 解析结果（只读使用）
+     */
+    private final Map<String, Claims> verifiedTokens = new ConcurrentHashMap<>();
+
+    private final LongAdder verifiedHits = new LongAdder();
+    private final LongAdder verifiedMisses = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
     /**
      * 生成Token
      */
     public String generateToken(String username) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
-        
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        
+
         return Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(now)
@@ -39,48 +80,104 @@ public class JwtUtil {
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
-    
+
     /**
      * 从Token中获取用户名
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = parseToken(token);
+        Claims claims = parseClaims(token);
         return claims.getSubject();
     }
-    
+
     /**
      * 验证Token
      */
     public boolean validateToken(String token) {
         try {
-            parseToken(token);
+            parseClaims(token);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
-    
+
     /**
      * 获取Token的过期时间戳（毫秒）
      */
     public Long getExpirationTime(String token) {
         try {
-            Claims claims = parseToken(token);
+            Claims claims = parseClaims(token);
             return claims.getExpiration().getTime();
         } catch (Exception e) {
             return null;
         }
     }
-    
+
+    /**
+     * 解析并验证Token，已验证且未过期的token直接返回缓存的 Claims
+     *
+     * @return 解析结果（与缓存共享，调用方不得修改）
+     * @throws io.jsonwebtoken.JwtException 如果token无效或已过期
+     * @throws IllegalArgumentException 如果token为空
+     */
+    public Claims parseClaims(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (!isExpired(cached, System.currentTimeMillis())) {
+                verifiedHits.increment();
+                return cached;
+            }
+            verifiedTokens.remove(digest);
+        }
+        verifiedMisses.increment();
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            cacheVerified(digest, claims);
+        }
+        return claims;
+    }
+
+    public long getVerifiedHitCount() {
+        return verifiedHits.sum();
+    }
+
+    public long getVerifiedMissCount() {
+        return verifiedMisses.sum();
+    }
+
+    public int getVerifiedCacheSize() {
+        return verifiedTokens.size();
+    }
+
     /**
-     * 解析Token
+     * 计算token的SHA-256摘要（十六进制），用作缓存与黑名单的键，避免保存token原文
      */
-    private Claims parseToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 放入已验证缓存；达到上限时先清理过期条目，仍然满时不缓存
+     */
+    private void cacheVerified(String digest, Claims claims) {
+        if (verifiedTokens.size() >= verifiedCacheSize) {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(value -> isExpired(value, now));
+            if (verifiedTokens.size() >= verifiedCacheSize) {
+                return;
+            }
+        }
+        verifiedTokens.put(digest, claims);
+    }
+
+    private boolean isExpired(Claims claims, long now) {
+        return claims.getExpiration().getTime() <= now;
     }
 }
@@ -0,0 +1,137 @@
+package com.company.tooldashboard.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 搜索分词工具类
+ * 字母数字连续串按整词切分（转小写）；中日韩文字连续串按二元组（bigram）切分，
+ * 同时保留单字，使单字查询也能命中。其余字符（空格、标点、符号）作为分隔符
+ *
+ * 例："文件管理 Tool-v2" → [文, 文件, 件, 件管, 管, 管理, 理, tool, v2]
+ */
+public final class SearchTokenizer {
+
+    /**
+     * 单个词的最大长度，超过的部分截断
+     */
+    private static final int MAX_WORD_LENGTH = 64;
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * 切分文档文本，结果包含重复词（用于计算词频）
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        forEachRun(text, (run, cjk) -> {
+            if (cjk) {
+                for (int i = 0; i < run.length(); i++) {
+                    tokens.add(run.substring(i, i + 1));
+                    if (i + 1 < run.length()) {
+                        tokens.add(run.substring(i, i + 2));
+                    }
+                }
+            } else {
+                tokens.add(run);
+            }
+        });
+        return tokens;
+    }
+
+    /**
+     * 切分查询文本（去重）
+     * 中日韩文字连续串只有一个字时使用单字，否则只使用二元组，使多字查询按词组匹配
+     */
+    public static List<String> tokenizeQuery(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        forEachRun(text, (run, cjk) -> {
+            if (cjk && run.length() > 1) {
+                for (int i = 0; i + 1 < run.length(); i++) {
+                    addDistinct(tokens, run.substring(i, i + 2));
+                }
+            } else {
+                addDistinct(tokens, run);
+            }
+        });
+        return tokens;
+    }
+
+    /**
+     * 判断查询文本是否以未完成的字母数字词结尾（用户仍在输入），此时最后一个词按前缀匹配
+     */
+    public static boolean endsWithWord(String text) {
+        if (text == null || text.isEmpty()) {
+            return false;
+        }
+        int last = text.codePointBefore(text.length());
+        return Character.isLetterOrDigit(last) && !isCjk(last);
+    }
+
+    private static void addDistinct(List<String> tokens, String token) {
+        if (!tokens.contains(token)) {
+            tokens.add(token);
+        }
+    }
+
+    /**
+     * 将文本拆成连续的字母数字串与中日韩文字串
+     */
+    private static void forEachRun(String text, RunConsumer consumer) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder run = new StringBuilder();
+        boolean runCjk = false;
+        int i = 0;
+        while (i < lower.length()) {
+            int codePoint = lower.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            boolean cjk = isCjk(codePoint);
+            if (!cjk && !Character.isLetterOrDigit(codePoint)) {
+                flush(run, runCjk, consumer);
+                continue;
+            }
+            if (run.length() > 0 && cjk != runCjk) {
+                flush(run, runCjk, consumer);
+            }
+            runCjk = cjk;
+            // 中日韩文字逐字处理，只考虑基本多文种平面内的字符
+            if (cjk && Character.charCount(codePoint) > 1) {
+                flush(run, true, consumer);
+                continue;
+            }
+            if (cjk || run.length() < MAX_WORD_LENGTH) {
+                run.appendCodePoint(codePoint);
+            }
+        }
+        flush(run, runCjk, consumer);
+    }
+
+    private static void flush(StringBuilder run, boolean cjk, RunConsumer consumer) {
+        if (run.length() > 0) {
+            consumer.accept(run.toString(), cjk);
+            run.setLength(0);
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    @FunctionalInterface
+    private interface RunConsumer {
+        void accept(String run, boolean cjk);
+    }
+}
@@ -0,0 +1,327 @@
+package com.company.tooldashboard.util;
+
+/**
+ * 已解析的语义化版本号（不可变）
+ * 遵循语义化版本规范 2.0.0 (https://semver.org/)
+ * 格式：MAJOR.MINOR.PATCH[-PRERELEASE][+BUILD]
+ *
+ * 解析器手工实现，不使用正则，单次扫描即可完成，不缓存解析结果（缓存的加锁开销高于解析本身）；
+ * 比较时直接使用解析好的字段，不再重复解析字符串。
+ * 版本优先级规则：
+ * 1. 依次比较主版本号、次版本号、修订号
+ * 2. 有预发布版本号的版本优先级低于对应的正式版本
+ * 3. 预发布版本号按点分隔的标识符逐个比较：纯数字标识符按数值比较，
+ *    字母数字标识符按ASCII顺序比较，纯数字标识符低于字母数字标识符，
+ *    前面的标识符都相同时，标识符较少的优先级较低（如 alpha < alpha.1 < alpha.beta < beta.2 < beta.11 < rc.1）
+ * 4. 构建元数据不参与比较
+ */
+public final class SemVer implements Comparable<SemVer> {
+
+    private final String text;
+    private final long major;
+    private final long minor;
+    private final long patch;
+    private final String[] preRelease;
+    private final boolean[] numericIdentifiers;
+    private final String build;
+    private int hash;
+
+    private SemVer(String text, long major, long minor, long patch,
+                   String[] preRelease, boolean[] numericIdentifiers, String build) {
+        this.text = text;
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.preRelease = preRelease;
+        this.numericIdentifiers = numericIdentifiers;
+        this.build = build;
+    }
+
+    /**
+     * 解析版本号
+     *
+     * @param version 版本号字符串（首尾空白会被忽略）
+     * @return 解析结果
+     * @throws IllegalArgumentException 如果版本号格式不正确
+     */
+    public static SemVer parse(String version) {
+        SemVer parsed = tryParse(version);
+        if (parsed == null) {
+            throw new IllegalArgumentException("Invalid semantic version: " + version);
+        }
+        return parsed;
+    }
+
+    /**
+     * 解析版本号，格式不正确时返回null
+     */
+    public static SemVer tryParse(String version) {
+        if (version == null) {
+            return null;
+        }
+        return doParse(version.trim());
+    }
+
+    private static SemVer doParse(String text) {
+        int length = text.length();
+        if (length == 0) {
+            return null;
+        }
+
+        // 主版本号.次版本号.修订号
+        long[] core = new long[3];
+        int pos = 0;
+        for (int i = 0; i < 3; i++) {
+            int start = pos;
+            while (pos < length && isDigit(text.charAt(pos))) {
+                pos++;
+            }
+            if (!isNumericIdentifier(text, start, pos)) {
+                return null;
+            }
+            long value = parseLong(text, start, pos);
+            if (value < 0) {
+                return null;
+            }
+            core[i] = value;
+            if (i < 2) {
+                if (pos >= length || text.charAt(pos) != '.') {
+                    return null;
+                }
+                pos++;
+            }
+        }
+
+        // 预发布版本号
+        String[] preRelease = null;
+        boolean[] numericIdentifiers = null;
+        if (pos < length && text.charAt(pos) == '-') {
+            pos++;
+            int end = text.indexOf('+', pos);
+            if (end < 0) {
+                end = length;
+            }
+            int count = countIdentifiers(text, pos, end);
+            if (count < 0) {
+                return null;
+            }
+            preRelease = new String[count];
+            numericIdentifiers = new boolean[count];
+            int index = 0;
+            int start = pos;
+            for (int i = pos; i <= end; i++) {
+                if (i == end || text.charAt(i) == '.') {
+                    boolean numeric = isAllDigits(text, start, i);
+                    // 纯数字标识符不能有前导零
+                    if (numeric && !isNumericIdentifier(text, start, i)) {
+                        return null;
+                    }
+                    preRelease[index] = text.substring(start, i);
+                    numericIdentifiers[index] = numeric;
+                    index++;
+                    start = i + 1;
+                }
+            }
+            pos = end;
+        }
+
+        // 构建元数据
+        String build = null;
+        if (pos < length && text.charAt(pos) == '+') {
+            pos++;
+            if (countIdentifiers(text, pos, length) < 0) {
+                return null;
+            }
+            build = text.substring(pos);
+            pos = length;
+        }
+
+        if (pos != length) {
+            return null;
+        }
+        return new SemVer(text, core[0], core[1], core[2], preRelease, numericIdentifiers, build);
+    }
+
+    /**
+     * 统计 [start, end) 内点分隔的标识符数量，出现空标识符或非法字符时返回-1
+     */
+    private static int countIdentifiers(String text, int start, int end) {
+        if (start >= end) {
+            return -1;
+        }
+        int count = 1;
+        boolean empty = true;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (empty) {
+                    return -1;
+                }
+                count++;
+                empty = true;
+            } else if (isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-') {
+                empty = false;
+            } else {
+                return -1;
+            }
+        }
+        return empty ? -1 : count;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAllDigits(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断 [start, end) 是否为合法的数字标识符：0 或不以0开头的数字
+     */
+    private static boolean isNumericIdentifier(String text, int start, int end) {
+        if (start >= end || !isAllDigits(text, start, end)) {
+            return false;
+        }
+        return end - start == 1 || text.charAt(start) != '0';
+    }
+
+    /**
+     * 解析非负整数，溢出时返回-1
+     */
+    private static long parseLong(String text, int start, int end) {
+        if (end - start > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    public long getMajor() {
+        return major;
+    }
+
+    public long getMinor() {
+        return minor;
+    }
+
+    public long getPatch() {
+        return patch;
+    }
+
+    /**
+     * 预发布版本号（不含前导 -），没有时返回null
+     */
+    public String getPreRelease() {
+        return preRelease == null ? null : String.join(".", preRelease);
+    }
+
+    /**
+     * 构建元数据（不含前导 +），没有时返回null
+     */
+    public String getBuild() {
+        return build;
+    }
+
+    public boolean isPreRelease() {
+        return preRelease != null;
+    }
+
+    @Override
+    public int compareTo(SemVer other) {
+        if (this == other) {
+            return 0;
+        }
+        int result = Long.compare(major, other.major);
+        if (result != 0) {
+            return result;
+        }
+        result = Long.compare(minor, other.minor);
+        if (result != 0) {
+            return result;
+        }
+        result = Long.compare(patch, other.patch);
+        if (result != 0) {
+            return result;
+        }
+
+        // 没有预发布版本号的版本优先级更高
+        if (preRelease == null || other.preRelease == null) {
+            return preRelease == null ? (other.preRelease == null ? 0 : 1) : -1;
+        }
+
+        int count = Math.min(preRelease.length, other.preRelease.length);
+        for (int i = 0; i < count; i++) {
+            result = compareIdentifier(preRelease[i], numericIdentifiers[i],
+                    other.preRelease[i], other.numericIdentifiers[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(preRelease.length, other.preRelease.length);
+    }
+
+    private static int compareIdentifier(String a, boolean aNumeric, String b, boolean bNumeric) {
+        if (aNumeric && bNumeric) {
+            // 数字标识符没有前导零，位数多的数值更大，位数相同时按字符比较即可
+            if (a.length() != b.length()) {
+                return Integer.compare(a.length(), b.length());
+            }
+            return a.compareTo(b);
+        }
+        if (aNumeric) {
+            return -1;
+        }
+        if (bNumeric) {
+            return 1;
+        }
+        return a.compareTo(b);
+    }
+
+    /**
+     * 与 compareTo 保持一致：构建元数据不参与比较
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SemVer)) {
+            return false;
+        }
+        return compareTo((SemVer) obj) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Long.hashCode(major);
+            h = 31 * h + Long.hashCode(minor);
+            h = 31 * h + Long.hashCode(patch);
+            if (preRelease != null) {
+                for (String identifier : preRelease) {
+                    h = 31 * h + identifier.hashCode();
+                }
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * 返回原始版本号字符串（去除首尾空白）
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,5 @@
+-- 内容寻址存储：记录文件内容哈希，按逻辑路径与哈希查找文件记录
+ALTER TABLE `tb_tool_file`
+  ADD COLUMN `content_hash` char(64) DEFAULT NULL COMMENT '文件内容SHA-256哈希（内容寻址存储）' AFTER `file_path`,
+  ADD KEY `idx_file_path` (`file_path`),
+  ADD KEY `idx_content_hash` (`content_hash`);
@@ -0,0 +1,10 @@
+-- 已撤销token表（多实例部署时共享登出状态，auth.revocation.store=database）
+CREATE TABLE `tb_revoked_token` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID（单调递增，各节点据此增量同步）',
+  `token_digest` char(64) NOT NULL COMMENT 'token的SHA-256摘要',
+  `expire_time` datetime NOT NULL COMMENT 'token过期时间',
+  `create_time` datetime DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_token_digest` (`token_digest`),
+  KEY `idx_expire_time` (`expire_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='已撤销token表';
@@ -0,0 +1,11 @@
+-- 游标分页：按 (时间, id) 定位，联合索引同时覆盖按 tool_id 的查询
+ALTER TABLE `tb_tool_file`
+  DROP KEY `idx_tool_id`,
+  ADD KEY `idx_tool_create_time` (`tool_id`, `create_time`, `id`),
+  ADD KEY `idx_create_time` (`create_time`, `id`);
+
+ALTER TABLE `tb_change_log`
+  DROP KEY `idx_tool_id`,
+  DROP KEY `idx_change_time`,
+  ADD KEY `idx_tool_change_time` (`tool_id`, `change_time`, `id`),
+  ADD KEY `idx_change_time` (`change_time`, `id`);
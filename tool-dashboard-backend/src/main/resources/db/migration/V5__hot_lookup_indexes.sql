@@ -0,0 +1,31 @@
+-- 热点查询索引
+-- MyBatis-Plus 逻辑删除会在每条查询上追加 deleted = 0，等值条件列都放在范围/排序列之前，
+-- 使过滤与排序都能在索引内完成
+
+-- 按名称查询工具：WHERE name = ? AND deleted = 0
+ALTER TABLE `tb_tool`
+  ADD KEY `idx_name` (`name`, `deleted`);
+
+ALTER TABLE `tb_tool_file`
+  -- 按路径下载 / 判断路径是否占用：WHERE file_path = ? AND deleted = 0 LIMIT 1
+  DROP KEY `idx_file_path`,
+  ADD KEY `idx_file_path` (`file_path`, `deleted`),
+  -- 内容寻址存储的引用计数：SELECT COUNT(*) WHERE content_hash = ? AND deleted = 0（覆盖索引）
+  DROP KEY `idx_content_hash`,
+  ADD KEY `idx_content_hash` (`content_hash`, `deleted`),
+  -- 工具文件列表与游标分页：WHERE tool_id = ? AND deleted = 0 ORDER BY create_time DESC, id DESC
+  DROP KEY `idx_tool_create_time`,
+  ADD KEY `idx_tool_create_time` (`tool_id`, `deleted`, `create_time`, `id`),
+  -- 全部文件的游标分页：WHERE deleted = 0 ORDER BY create_time DESC, id DESC
+  DROP KEY `idx_create_time`,
+  ADD KEY `idx_create_time` (`deleted`, `create_time`, `id`),
+  -- 版本索引重建：SELECT id, tool_id, version WHERE version IS NOT NULL AND deleted = 0（覆盖索引，主键隐含在二级索引中）
+  ADD KEY `idx_tool_version` (`deleted`, `tool_id`, `version`);
+
+ALTER TABLE `tb_change_log`
+  -- 工具变更日志与游标分页：WHERE tool_id = ? AND deleted = 0 ORDER BY change_time DESC, id DESC
+  DROP KEY `idx_tool_change_time`,
+  ADD KEY `idx_tool_change_time` (`tool_id`, `deleted`, `change_time`, `id`),
+  -- 全部变更日志的游标分页：WHERE deleted = 0 ORDER BY change_time DESC, id DESC
+  DROP KEY `idx_change_time`,
+  ADD KEY `idx_change_time` (`deleted`, `change_time`, `id`);
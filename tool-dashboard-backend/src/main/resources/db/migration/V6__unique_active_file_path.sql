@@ -0,0 +1,9 @@
+-- 同一逻辑路径只允许一条未删除的文件记录
+-- 内容寻址存储模式下逻辑路径不对应物理文件，并发上传同一路径只能由数据库保证唯一；
+-- 逻辑删除的记录可能有多条相同路径，因此唯一键建在只对未删除记录取值的生成列上（NULL 不参与唯一性比较）
+-- 执行前需确认没有重复的未删除记录：
+--   SELECT file_path, COUNT(*) FROM tb_tool_file WHERE deleted = 0 GROUP BY file_path HAVING COUNT(*) > 1
+ALTER TABLE `tb_tool_file`
+  ADD COLUMN `active_file_path` varchar(500) GENERATED ALWAYS AS (IF(`deleted` = 0, `file_path`, NULL)) VIRTUAL
+    COMMENT '未删除记录的文件路径（用于唯一约束）' AFTER `deleted`,
+  ADD UNIQUE KEY `uk_active_file_path` (`active_file_path`);
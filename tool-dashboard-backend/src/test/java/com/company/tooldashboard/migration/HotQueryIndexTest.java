@@ -0,0 +1,193 @@
+package com.company.tooldashboard.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 热点查询索引测试
+ * 在 MySQL 上执行全部 Flyway 迁移并写入测试数据，用 EXPLAIN 确认热点查询使用 V4/V5 建立的索引。
+ * 查询语句与 MyBatis-Plus 生成的 SQL 一致（逻辑删除条件 deleted=0 在前，其余条件在括号内）。
+ * 需要 Docker，没有 Docker 时跳过
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HotQueryIndexTest {
+
+    private static final int TOOLS = 50;
+    private static final int FILES_PER_TOOL = 40;
+    private static final int LOGS_PER_TOOL = 40;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+              .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+              .locations("classpath:db/migration")
+              .load()
+              .migrate();
+
+        try (Connection connection = connect()) {
+            insertData(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE tb_tool, tb_tool_file, tb_change_log");
+            }
+        }
+    }
+
+    @Test
+    void toolByName() throws SQLException {
+        assertKey("idx_name",
+                "SELECT id, name FROM tb_tool WHERE deleted=0 AND (name = ?)",
+                "tool-7");
+    }
+
+    @Test
+    void fileByPath() throws SQLException {
+        assertKey("idx_file_path",
+                "SELECT id, file_path, content_hash, original_name, file_type FROM tb_tool_file "
+                        + "WHERE deleted=0 AND (file_path = ?) LIMIT 1",
+                "cli/tool-7/1.0.3/file-3.zip");
+    }
+
+    @Test
+    void filesByTool() throws SQLException {
+        assertKey("idx_tool_create_time",
+                "SELECT * FROM tb_tool_file WHERE deleted=0 AND (tool_id = ?) ORDER BY create_time DESC",
+                7L);
+    }
+
+    @Test
+    void fileCursorPage() throws SQLException {
+        assertKey("idx_create_time",
+                "SELECT * FROM tb_tool_file WHERE deleted=0 ORDER BY create_time DESC, id DESC LIMIT 21");
+        assertKey("idx_create_time",
+                "SELECT * FROM tb_tool_file WHERE deleted=0 AND ((create_time < ? OR (create_time = ? AND id < ?) "
+                        + "OR create_time IS NULL)) ORDER BY create_time DESC, id DESC LIMIT 21",
+                cursorTime(), cursorTime(), 1000L);
+    }
+
+    @Test
+    void toolFileCursorPage() throws SQLException {
+        assertKey("idx_tool_create_time",
+                "SELECT * FROM tb_tool_file WHERE deleted=0 AND (tool_id = ?) "
+                        + "ORDER BY create_time DESC, id DESC LIMIT 21",
+                7L);
+        assertKey("idx_tool_create_time",
+                "SELECT * FROM tb_tool_file WHERE deleted=0 AND (tool_id = ? AND (create_time < ? "
+                        + "OR (create_time = ? AND id < ?) OR create_time IS NULL)) "
+                        + "ORDER BY create_time DESC, id DESC LIMIT 21",
+                7L, cursorTime(), cursorTime(), 1000L);
+    }
+
+    @Test
+    void changeLogCursorPage() throws SQLException {
+        assertKey("idx_change_time",
+                "SELECT * FROM tb_change_log WHERE deleted=0 ORDER BY change_time DESC, id DESC LIMIT 21");
+        assertKey("idx_tool_change_time",
+                "SELECT * FROM tb_change_log WHERE deleted=0 AND (tool_id = ?) "
+                        + "ORDER BY change_time DESC, id DESC LIMIT 21",
+                7L);
+        assertKey("idx_tool_change_time",
+                "SELECT * FROM tb_change_log WHERE deleted=0 AND (tool_id = ? AND (change_time < ? "
+                        + "OR (change_time = ? AND id < ?) OR change_time IS NULL)) "
+                        + "ORDER BY change_time DESC, id DESC LIMIT 21",
+                7L, cursorTime(), cursorTime(), 1000L);
+    }
+
+    /**
+     * 断言 EXPLAIN 结果中访问表使用的索引
+     */
+    private static void assertKey(String expectedKey, String sql, Object... params) throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                assertTrue(rs.next(), "EXPLAIN 没有返回结果: " + sql);
+                assertEquals(expectedKey, rs.getString("key"), sql);
+            }
+        }
+    }
+
+    /**
+     * 游标位置：落在测试数据时间范围的中间
+     */
+    private static Timestamp cursorTime() {
+        return Timestamp.valueOf(baseTime().plusMinutes(TOOLS * FILES_PER_TOOL / 2));
+    }
+
+    private static LocalDateTime baseTime() {
+        return LocalDateTime.of(2024, 1, 1, 0, 0);
+    }
+
+    /**
+     * 写入测试数据：每个工具若干文件与变更日志，约十分之一为已删除记录
+     */
+    private static void insertData(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement tool = connection.prepareStatement(
+                     "INSERT INTO tb_tool (name, type, deleted) VALUES (?, 'cli', ?)");
+             PreparedStatement file = connection.prepareStatement(
+                     "INSERT INTO tb_tool_file (tool_id, file_name, file_path, version, create_time, deleted) "
+                             + "VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement log = connection.prepareStatement(
+                     "INSERT INTO tb_change_log (tool_id, version, content, change_time, deleted) "
+                             + "VALUES (?, ?, 'change', ?, ?)")) {
+            int sequence = 0;
+            for (long toolId = 1; toolId <= TOOLS; toolId++) {
+                tool.setString(1, "tool-" + toolId);
+                tool.setInt(2, toolId % 10 == 0 ? 1 : 0);
+                tool.addBatch();
+                for (int i = 0; i < FILES_PER_TOOL; i++) {
+                    String version = "1.0." + i;
+                    String fileName = "file-" + i + ".zip";
+                    Timestamp time = Timestamp.valueOf(baseTime().plusMinutes(sequence++));
+                    int deleted = i % 10 == 9 ? 1 : 0;
+                    file.setLong(1, toolId);
+                    file.setString(2, fileName);
+                    file.setString(3, "cli/tool-" + toolId + "/" + version + "/" + fileName);
+                    file.setString(4, version);
+                    file.setTimestamp(5, time);
+                    file.setInt(6, deleted);
+                    file.addBatch();
+                }
+                for (int i = 0; i < LOGS_PER_TOOL; i++) {
+                    log.setLong(1, toolId);
+                    log.setString(2, "1.0." + i);
+                    log.setTimestamp(3, Timestamp.valueOf(baseTime().plusMinutes(toolId * LOGS_PER_TOOL + i)));
+                    log.setInt(4, i % 10 == 9 ? 1 : 0);
+                    log.addBatch();
+                }
+            }
+            tool.executeBatch();
+            file.executeBatch();
+            log.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+}
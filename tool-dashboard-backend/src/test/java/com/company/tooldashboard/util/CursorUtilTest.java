@@ -0,0 +1,201 @@
+package com.company.tooldashboard.util;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.company.tooldashboard.dto.CursorPage;
+import com.company.tooldashboard.entity.ChangeLog;
+import com.company.tooldashboard.mapper.ChangeLogMapper;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CursorUtil 测试
+ * 在 H2（MySQL兼容模式，NULL 排序与 MySQL 一致：降序时排在最后）上执行 MyBatis-Plus 生成的游标查询，
+ * 确认逐页翻完时每条未删除的记录恰好出现一次
+ */
+class CursorUtilTest {
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    private SqlSession sqlSession;
+    private ChangeLogMapper mapper;
+
+    /**
+     * 按 (时间 DESC, id DESC，时间为空的排在最后) 排序的全部未删除记录
+     */
+    private List<ChangeLog> expected;
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:cursor_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tb_change_log ("
+                    + "id bigint NOT NULL AUTO_INCREMENT PRIMARY KEY, tool_id bigint NOT NULL, version varchar(50), "
+                    + "change_type varchar(50), content text, changer varchar(50), change_time datetime, "
+                    + "create_time datetime, update_time datetime, deleted int DEFAULT 0)");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(ChangeLogMapper.class);
+        sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @BeforeEach
+    void setUp() {
+        sqlSession = sqlSessionFactory.openSession(true);
+        mapper = sqlSession.getMapper(ChangeLogMapper.class);
+        mapper.delete(null);
+
+        LocalDateTime t1 = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime t2 = LocalDateTime.of(2024, 1, 2, 10, 0);
+        LocalDateTime t3 = LocalDateTime.of(2024, 1, 3, 10, 0, 0, 500_000_000);
+        // 同一时间的多条记录、时间为空的记录穿插在不同工具与ID之间，部分记录已删除
+        LocalDateTime[] times = {t1, t2, null, t2, t2, t1, null, t3, t2, null, t1, t3, t2, null, t2, t1, t3, null};
+        for (int i = 0; i < times.length; i++) {
+            ChangeLog log = new ChangeLog();
+            log.setToolId(i % 3 == 0 ? 1L : 2L);
+            log.setVersion("1.0." + i);
+            log.setContent("change " + i);
+            log.setChangeTime(times[i]);
+            mapper.insert(log);
+            if (i % 7 == 6) {
+                mapper.deleteById(log.getId());
+            }
+        }
+
+        expected = mapper.selectList(null);
+        expected.sort(Comparator.comparing(ChangeLog::getChangeTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(ChangeLog::getId)
+                .reversed());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlSession.close();
+    }
+
+    @Test
+    void visitsEveryRowExactlyOnce() {
+        for (int size = 1; size <= expected.size() + 1; size++) {
+            assertEquals(ids(expected), pageThrough(null, size), "size=" + size);
+        }
+    }
+
+    @Test
+    void visitsEveryRowOfOneToolExactlyOnce() {
+        List<ChangeLog> toolRows = expected.stream()
+                .filter(log -> log.getToolId() == 1L)
+                .collect(Collectors.toList());
+        for (int size = 1; size <= 4; size++) {
+            assertEquals(ids(toolRows), pageThrough(1L, size), "size=" + size);
+        }
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<ChangeLog> page = page(null, null, expected.size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        assertEquals(expected.size(), page.getRecords().size());
+    }
+
+    @Test
+    void encodesAndDecodesPositions() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123_000_000);
+        CursorUtil.Position position = CursorUtil.decode(CursorUtil.encode(time, 42L));
+        assertEquals(time, position.getTime());
+        assertEquals(42L, position.getId());
+
+        position = CursorUtil.decode(CursorUtil.encode(null, 7L));
+        assertNull(position.getTime());
+        assertEquals(7L, position.getId());
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String[] cursors = {"%%%", "not-base64!", encodeRaw("no-separator"), encodeRaw("2024-01-01T00:00|abc"),
+                encodeRaw("yesterday|1"), encodeRaw("2024-01-01T00:00|"), ""};
+        for (String cursor : cursors) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> CursorUtil.decode(cursor), cursor);
+            assertEquals("无效的分页游标", e.getMessage());
+        }
+    }
+
+    @Test
+    void normalizesSize() {
+        assertEquals(CursorUtil.DEFAULT_SIZE, CursorUtil.normalizeSize(null));
+        assertEquals(CursorUtil.DEFAULT_SIZE, CursorUtil.normalizeSize(0));
+        assertEquals(5, CursorUtil.normalizeSize(5));
+        assertEquals(CursorUtil.MAX_SIZE, CursorUtil.normalizeSize(CursorUtil.MAX_SIZE + 1));
+    }
+
+    /**
+     * 从首页开始逐页翻完，返回依次读到的记录ID，并检查没有重复
+     */
+    private List<Long> pageThrough(Long toolId, int size) {
+        List<Long> visited = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        for (int pages = 0; pages <= expected.size() + 1; pages++) {
+            CursorPage<ChangeLog> page = page(cursor, toolId, size);
+            assertTrue(page.getRecords().size() <= size);
+            for (ChangeLog log : page.getRecords()) {
+                assertTrue(seen.add(log.getId()), "重复的记录: " + log.getId());
+                visited.add(log.getId());
+            }
+            if (!page.isHasMore()) {
+                return visited;
+            }
+            cursor = page.getNextCursor();
+        }
+        throw new AssertionError("翻页没有结束");
+    }
+
+    private CursorPage<ChangeLog> page(String cursor, Long toolId, int size) {
+        LambdaQueryWrapper<ChangeLog> wrapper = new LambdaQueryWrapper<>();
+        if (toolId != null) {
+            wrapper.eq(ChangeLog::getToolId, toolId);
+        }
+        CursorUtil.applySeek(wrapper, ChangeLog::getChangeTime, ChangeLog::getId, cursor, size);
+        return CursorUtil.toPage(mapper.selectList(wrapper), size, ChangeLog::getChangeTime, ChangeLog::getId);
+    }
+
+    private static List<Long> ids(List<ChangeLog> logs) {
+        return logs.stream().map(ChangeLog::getId).collect(Collectors.toList());
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
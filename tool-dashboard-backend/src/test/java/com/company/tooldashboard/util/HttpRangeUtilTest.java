@@ -0,0 +1,191 @@
+package com.company.tooldashboard.util;
+
+import com.company.tooldashboard.util.HttpRangeUtil.ByteRange;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HttpRangeUtil 测试
+ * parseRanges 返回值约定：null 表示忽略 Range 头，空列表表示无法满足（416）
+ */
+class HttpRangeUtilTest {
+
+    private static final long LENGTH = 100;
+
+    @Test
+    void ignoresMissingOrUnknownUnit() {
+        assertNull(HttpRangeUtil.parseRanges(null, LENGTH));
+        assertNull(HttpRangeUtil.parseRanges("", LENGTH));
+        assertNull(HttpRangeUtil.parseRanges("items=0-1", LENGTH));
+        assertNull(HttpRangeUtil.parseRanges("bytes=", LENGTH));
+        assertNull(HttpRangeUtil.parseRanges("bytes=,", LENGTH));
+    }
+
+    @Test
+    void unitIsCaseInsensitive() {
+        assertRanges(HttpRangeUtil.parseRanges("Bytes=0-9", LENGTH), 0, 9);
+    }
+
+    @Test
+    void parsesSingleRanges() {
+        assertRanges(HttpRangeUtil.parseRanges("bytes=0-499", 1000), 0, 499);
+        assertRanges(HttpRangeUtil.parseRanges("bytes=10-", LENGTH), 10, 99);
+        assertRanges(HttpRangeUtil.parseRanges("bytes=0-0", LENGTH), 0, 0);
+        assertRanges(HttpRangeUtil.parseRanges("bytes= 5 - 9 ", LENGTH), 5, 9);
+    }
+
+    @Test
+    void clampsEndToFileLength() {
+        assertRanges(HttpRangeUtil.parseRanges("bytes=90-1000", LENGTH), 90, 99);
+    }
+
+    @Test
+    void parsesSuffixRanges() {
+        assertRanges(HttpRangeUtil.parseRanges("bytes=-10", LENGTH), 90, 99);
+        // 后缀长度超过文件长度时返回整个文件
+        assertRanges(HttpRangeUtil.parseRanges("bytes=-500", LENGTH), 0, 99);
+    }
+
+    @Test
+    void zeroSuffixIsUnsatisfiable() {
+        List<ByteRange> ranges = HttpRangeUtil.parseRanges("bytes=-0", LENGTH);
+        assertNotNull(ranges);
+        assertTrue(ranges.isEmpty());
+    }
+
+    @Test
+    void endBeforeStartIsIgnored() {
+        assertNull(HttpRangeUtil.parseRanges("bytes=5-2", LENGTH));
+    }
+
+    @Test
+    void malformedSpecsAreIgnored() {
+        assertNull(HttpRangeUtil.parseRanges("bytes=5", LENGTH));
+        assertNull(HttpRangeUtil.parseRanges("bytes=a-5", LENGTH));
+        assertNull(HttpRangeUtil.parseRanges("bytes=-", LENGTH));
+        assertNull(HttpRangeUtil.parseRanges("bytes=-1-2", LENGTH));
+        assertNull(HttpRangeUtil.parseRanges("bytes=0-1,x", LENGTH));
+        // 超过 long 范围的数字
+        assertNull(HttpRangeUtil.parseRanges("bytes=0-99999999999999999999", LENGTH));
+    }
+
+    @Test
+    void startBeyondLengthIsUnsatisfiable() {
+        List<ByteRange> ranges = HttpRangeUtil.parseRanges("bytes=100-", LENGTH);
+        assertNotNull(ranges);
+        assertTrue(ranges.isEmpty());
+        ranges = HttpRangeUtil.parseRanges("bytes=200-300", LENGTH);
+        assertNotNull(ranges);
+        assertTrue(ranges.isEmpty());
+    }
+
+    @Test
+    void skipsUnsatisfiableSpecsAmongSatisfiableOnes() {
+        assertRanges(HttpRangeUtil.parseRanges("bytes=200-300,0-4", LENGTH), 0, 4);
+    }
+
+    @Test
+    void zeroLengthFileIsUnsatisfiable() {
+        for (String header : new String[]{"bytes=0-", "bytes=0-0", "bytes=-1"}) {
+            List<ByteRange> ranges = HttpRangeUtil.parseRanges(header, 0);
+            assertNotNull(ranges, header);
+            assertTrue(ranges.isEmpty(), header);
+        }
+    }
+
+    @Test
+    void sortsAndKeepsDisjointRanges() {
+        assertRanges(HttpRangeUtil.parseRanges("bytes=50-59,0-9", LENGTH), 0, 9, 50, 59);
+    }
+
+    @Test
+    void mergesOverlappingRanges() {
+        assertRanges(HttpRangeUtil.parseRanges("bytes=0-20,10-30", LENGTH), 0, 30);
+        assertRanges(HttpRangeUtil.parseRanges("bytes=0-50,10-20", LENGTH), 0, 50);
+        // 同一区间重复请求只返回一次
+        assertRanges(HttpRangeUtil.parseRanges("bytes=0-9,0-9,0-9", LENGTH), 0, 9);
+        assertRanges(HttpRangeUtil.parseRanges("bytes=-10,80-", LENGTH), 80, 99);
+    }
+
+    @Test
+    void mergesAdjacentRanges() {
+        assertRanges(HttpRangeUtil.parseRanges("bytes=0-9,10-19", LENGTH), 0, 19);
+        assertRanges(HttpRangeUtil.parseRanges("bytes=0-9,11-19", LENGTH), 0, 9, 11, 19);
+    }
+
+    @Test
+    void tooManySpecsAreIgnored() {
+        assertEquals(1, HttpRangeUtil.parseRanges("bytes=" + specs(64), LENGTH).size());
+        assertNull(HttpRangeUtil.parseRanges("bytes=" + specs(65), LENGTH));
+    }
+
+    @Test
+    void contentRange() {
+        assertEquals("bytes 0-9/100", new ByteRange(0, 9).toContentRange(LENGTH));
+        assertEquals(10, new ByteRange(0, 9).getLength());
+    }
+
+    @Test
+    void ifRangeAbsentAllowsRange() {
+        assertTrue(HttpRangeUtil.matchesIfRange(null, "\"abc\"", 0));
+    }
+
+    @Test
+    void ifRangeStrongETag() {
+        String etag = HttpRangeUtil.buildETag("abc");
+        assertTrue(HttpRangeUtil.matchesIfRange("\"abc\"", etag, 0));
+        assertTrue(HttpRangeUtil.matchesIfRange(" \"abc\" ", etag, 0));
+        assertFalse(HttpRangeUtil.matchesIfRange("\"abd\"", etag, 0));
+    }
+
+    @Test
+    void ifRangeWeakETagNeverMatches() {
+        String etag = HttpRangeUtil.buildETag("abc");
+        assertFalse(HttpRangeUtil.matchesIfRange("W/\"abc\"", etag, 0));
+    }
+
+    @Test
+    void ifRangeDate() {
+        long lastModified = 1700000000123L;
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                Instant.ofEpochMilli(lastModified).atOffset(ZoneOffset.UTC));
+        String etag = HttpRangeUtil.buildETag(LENGTH, lastModified);
+        // HTTP 日期精确到秒
+        assertTrue(HttpRangeUtil.matchesIfRange(date, etag, lastModified));
+        assertFalse(HttpRangeUtil.matchesIfRange(date, etag, lastModified + 1000));
+        assertFalse(HttpRangeUtil.matchesIfRange("not a date", etag, lastModified));
+    }
+
+    private static String specs(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("0-").append(i);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 断言区间列表，expected 依次为各区间的起止位置
+     */
+    private static void assertRanges(List<ByteRange> ranges, long... expected) {
+        assertNotNull(ranges);
+        assertEquals(expected.length / 2, ranges.size(), "区间数量");
+        for (int i = 0; i < ranges.size(); i++) {
+            assertEquals(expected[i * 2], ranges.get(i).getStart(), "start[" + i + "]");
+            assertEquals(expected[i * 2 + 1], ranges.get(i).getEnd(), "end[" + i + "]");
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.company.tooldashboard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SemVer 测试
+ * 校验结果与原先基于正则的实现一致，比较结果遵循语义化版本规范第11条
+ */
+class SemVerTest {
+
+    /**
+     * 原 SemanticVersionUtil 使用的正则（语义化版本规范推荐的正则）
+     */
+    private static final Pattern BASELINE = Pattern.compile(
+            "^(0|[1-9]\\d*)\\.(0|[1-9]\\d*)\\.(0|[1-9]\\d*)"
+                    + "(?:-((?:0|[1-9]\\d*|\\d*[a-zA-Z-][0-9a-zA-Z-]*)"
+                    + "(?:\\.(?:0|[1-9]\\d*|\\d*[a-zA-Z-][0-9a-zA-Z-]*))*))?"
+                    + "(?:\\+([0-9a-zA-Z-]+(?:\\.[0-9a-zA-Z-]+)*))?$");
+
+    private static final String[] VALID = {
+            "0.0.0", "1.0.0", "1.2.3", "10.20.30", " 1.0.0 ", "1.1.2-prerelease+meta", "1.1.2+meta",
+            "1.1.2+meta-valid", "1.0.0-alpha", "1.0.0-beta", "1.0.0-alpha.beta", "1.0.0-alpha.beta.1",
+            "1.0.0-alpha.1", "1.0.0-alpha0.valid", "1.0.0-alpha.0valid", "1.0.0-rc.1+build.1",
+            "2.0.0-rc.1+build.123", "1.2.3-beta", "10.2.3-DEV-SNAPSHOT", "1.2.3-SNAPSHOT-123",
+            "2.0.0+build.1848", "2.0.1-alpha.1227", "1.0.0-alpha+beta", "1.2.3----RC-SNAPSHOT.12.9.1--.12+788",
+            "1.2.3----R-S.12.9.1--.12+meta", "1.2.3----RC-SNAPSHOT.12.9.1--.12", "1.0.0+0.build.1-rc.10000aaa-kk-0.1",
+            "1.0.0-0A.is.legal", "1.0.0--", "1.0.0-0", "1.0.0-0a", "1.0.0+01", "999999999999999999.0.0"
+    };
+
+    private static final String[] INVALID = {
+            "", " ", "1", "1.2", "1.2.3-0123", "1.2.3-0123.0123", "1.1.2+.123", "+invalid", "-invalid",
+            "-invalid+invalid", "-invalid.01", "alpha", "alpha.beta", "alpha.beta.1", "alpha.1", "alpha+beta",
+            "alpha_beta", "alpha.", "alpha..", "beta", "1.0.0-alpha_beta", "-alpha.", "1.0.0-alpha..",
+            "1.0.0-alpha..1", "1.0.0-alpha...1", "1.0.0-alpha....1", "1.0.0-alpha.....1", "1.0.0-alpha......1",
+            "1.0.0-alpha.......1", "01.1.1", "1.01.1", "1.1.01", "1.2", "1.2.3.DEV", "1.2-SNAPSHOT",
+            "1.2.31.2.3----RC-SNAPSHOT.12.09.1--..12+788", "1.2-RC-SNAPSHOT", "-1.0.3-gamma+b7718",
+            "+justmeta", "9.8.7+meta+meta", "9.8.7-whatever+meta+meta", "1.0.0-", "1.0.0+", "1.0.0-+",
+            "1.0.0-alpha+", "1.0.0-é", "１.0.0", "v1.0.0", "1.0.0 -alpha", "1.0.0\t-alpha"
+    };
+
+    @Test
+    void validationMatchesBaseline() {
+        for (String version : VALID) {
+            assertTrue(BASELINE.matcher(version.trim()).matches(), "基线应判定为合法: " + version);
+            assertNotNull(SemVer.tryParse(version), version);
+            assertTrue(SemanticVersionUtil.isValidSemanticVersion(version), version);
+        }
+        for (String version : INVALID) {
+            assertFalse(BASELINE.matcher(version.trim()).matches(), "基线应判定为非法: " + version);
+            assertNull(SemVer.tryParse(version), version);
+            assertFalse(SemanticVersionUtil.isValidSemanticVersion(version), version);
+        }
+        assertNull(SemVer.tryParse(null));
+        assertFalse(SemanticVersionUtil.isValidSemanticVersion(null));
+    }
+
+    @Test
+    void randomInputsMatchBaseline() {
+        char[] alphabet = "0123456789..--++aZ_".toCharArray();
+        Random random = new Random(20240101L);
+        for (int i = 0; i < 200000; i++) {
+            int length = 5 + random.nextInt(12);
+            StringBuilder sb = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            String version = sb.toString();
+            assertEquals(BASELINE.matcher(version).matches(), SemVer.tryParse(version) != null, version);
+        }
+    }
+
+    /**
+     * 与基线唯一的差异：超过18位的数字在基线中通过校验，但比较时 Integer.parseInt 会抛出异常，
+     * 现在直接判定为非法
+     */
+    @Test
+    void rejectsNumbersThatOverflow() {
+        assertTrue(BASELINE.matcher("1234567890123456789.0.0").matches());
+        assertNull(SemVer.tryParse("1234567890123456789.0.0"));
+        assertNull(SemVer.tryParse("1.0.1234567890123456789"));
+    }
+
+    @Test
+    void parsesFields() {
+        SemVer version = SemVer.parse(" 1.2.3-beta.11+build.7 ");
+        assertEquals(1, version.getMajor());
+        assertEquals(2, version.getMinor());
+        assertEquals(3, version.getPatch());
+        assertEquals("beta.11", version.getPreRelease());
+        assertEquals("build.7", version.getBuild());
+        assertTrue(version.isPreRelease());
+        assertEquals("1.2.3-beta.11+build.7", version.toString());
+
+        SemVer release = SemVer.parse("1.2.3");
+        assertNull(release.getPreRelease());
+        assertNull(release.getBuild());
+        assertFalse(release.isPreRelease());
+    }
+
+    @Test
+    void parseRejectsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> SemVer.parse("1.0"));
+        assertThrows(IllegalArgumentException.class, () -> SemanticVersionUtil.compareVersions("1.0.0", "x"));
+    }
+
+    /**
+     * 规范第11条给出的优先级顺序，以及数字/字母数字标识符、标识符数量的比较规则
+     */
+    @Test
+    void followsPrecedenceRules() {
+        assertAscending("1.0.0", "2.0.0", "2.1.0", "2.1.1");
+        assertAscending("1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta", "1.0.0-beta",
+                "1.0.0-beta.2", "1.0.0-beta.11", "1.0.0-rc.1", "1.0.0");
+        // 数字标识符按数值比较
+        assertAscending("1.0.0-2", "1.0.0-10", "1.0.0-100");
+        assertAscending("1.0.0-alpha.9", "1.0.0-alpha.10");
+        // 数字标识符低于字母数字标识符（含以数字开头的字母数字标识符）
+        assertAscending("1.0.0-999", "1.0.0-0a", "1.0.0-a");
+        // 字母数字标识符按ASCII排序
+        assertAscending("1.0.0--", "1.0.0-1a", "1.0.0-Z", "1.0.0-a");
+        assertAscending("1.0.0-alpha", "1.0.0-alpha-1", "1.0.0-alphabet");
+        // 前面的标识符相同时，标识符多的优先级高
+        assertAscending("1.0.0-a", "1.0.0-a.0", "1.0.0-a.0.0");
+        // 主、次、修订号按数值比较
+        assertAscending("1.9.0", "1.10.0", "1.11.0");
+        assertAscending("9.0.0", "10.0.0");
+        assertAscending("1.0.0-rc.1", "1.0.1-alpha");
+    }
+
+    @Test
+    void ignoresBuildMetadata() {
+        assertEquals(0, SemanticVersionUtil.compareVersions("1.0.0+a", "1.0.0+b"));
+        assertEquals(0, SemanticVersionUtil.compareVersions("1.0.0+20130313144700", "1.0.0"));
+        assertEquals(0, SemanticVersionUtil.compareVersions("1.0.0-beta+exp.sha.5114f85", "1.0.0-beta"));
+        assertEquals(SemVer.parse("1.0.0+a"), SemVer.parse("1.0.0+b"));
+        assertEquals(SemVer.parse("1.0.0+a").hashCode(), SemVer.parse("1.0.0+b").hashCode());
+        assertTrue(SemanticVersionUtil.compareVersions("1.0.0-alpha+z", "1.0.0-beta+a") < 0);
+    }
+
+    /**
+     * 不含预发布版本号时，基线的比较结果是正确的，应与之一致
+     */
+    @Test
+    void releaseComparisonMatchesBaseline() {
+        String[] versions = {"0.0.0", "0.0.1", "0.1.0", "1.0.0", "1.0.0+b", "1.2.3", "1.10.0", "2.0.0", "10.0.0"};
+        for (String a : versions) {
+            for (String b : versions) {
+                assertEquals(Integer.signum(baselineCompare(a, b)),
+                        Integer.signum(SemanticVersionUtil.compareVersions(a, b)), a + " vs " + b);
+            }
+        }
+    }
+
+    @Test
+    void describesVersion() {
+        assertEquals("主版本: 1, 次版本: 2, 修订号: 3, 预发布: rc.1",
+                SemanticVersionUtil.getVersionDescription("1.2.3-rc.1+b"));
+        assertEquals("无效的版本号格式", SemanticVersionUtil.getVersionDescription("1.2"));
+    }
+
+    private static void assertAscending(String... versions) {
+        for (int i = 0; i < versions.length; i++) {
+            for (int j = 0; j < versions.length; j++) {
+                int expected = Integer.compare(i, j);
+                int actual = Integer.signum(SemanticVersionUtil.compareVersions(versions[i], versions[j]));
+                assertEquals(expected, actual, versions[i] + " vs " + versions[j]);
+            }
+        }
+    }
+
+    /**
+     * 原 SemanticVersionUtil 对正式版本的比较：去掉构建元数据后按数值比较主、次、修订号
+     */
+    private static int baselineCompare(String a, String b) {
+        int[] x = baselineCore(a);
+        int[] y = baselineCore(b);
+        for (int i = 0; i < 3; i++) {
+            if (x[i] != y[i]) {
+                return Integer.compare(x[i], y[i]);
+            }
+        }
+        return 0;
+    }
+
+    private static int[] baselineCore(String version) {
+        int plus = version.indexOf('+');
+        String core = plus > 0 ? version.substring(0, plus) : version;
+        String[] parts = core.split("\\.");
+        return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2])};
+    }
+}
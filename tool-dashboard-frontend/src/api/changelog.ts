@@ -1,5 +1,5 @@
 import { request } from '@/utils/request'
-import type { ChangeLog, PageResponse } from '@/types'
+import type { ChangeLog, PageResponse, CursorPageResponse } from '@/types'
 
 // 根据工具ID查询变更日志
 export const getLogsByToolId = (toolId: number) => {
@@ -11,6 +11,11 @@ export const getLogPage = (params: { pageNum: number; pageSize: number; toolId?:
   return request.get<PageResponse<ChangeLog>>('/changelogs/page', { params })
 }
 
+// 游标分页查询变更日志（首页不传 cursor，之后传上一页的 nextCursor）
+export const getLogCursorPage = (params: { cursor?: string; size?: number; toolId?: number; withTotal?: boolean }) => {
+  return request.get<CursorPageResponse<ChangeLog>>('/changelogs/cursor', { params })
+}
+
 // 新增变更日志
 export const addChangeLog = (data: ChangeLog) => {
   return request.post('/changelogs', data)
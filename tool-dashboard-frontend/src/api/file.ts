@@ -1,5 +1,5 @@
 import { request } from '@/utils/request'
-import type { ToolFile, PageResponse } from '@/types'
+import type { ToolFile, PageResponse, CursorPageResponse, BatchUploadResult } from '@/types'
 
 // 根据工具ID查询文件列表
 export const getFilesByToolId = (toolId: number) => {
@@ -11,6 +11,11 @@ export const getFilePage = (params: { pageNum: number; pageSize: number; toolId?
   return request.get<PageResponse<ToolFile>>('/files/page', { params })
 }
 
+// 游标分页查询文件列表（首页不传 cursor，之后传上一页的 nextCursor）
+export const getFileCursorPage = (params: { cursor?: string; size?: number; toolId?: number; withTotal?: boolean }) => {
+  return request.get<CursorPageResponse<ToolFile>>('/files/cursor', { params })
+}
+
 // 上传文件（支持进度回调）
 export const uploadFile = (formData: FormData, onUploadProgress?: (progressEvent: any) => void) => {
   return request.post<ToolFile>('/files/upload', formData, {
@@ -22,9 +27,9 @@ export const uploadFile = (formData: FormData, onUploadProgress?: (progressEvent
   })
 }
 
-// 批量上传文件（支持进度回调，返回列表）
+// 批量上传文件（支持进度回调，返回每个文件的上传结果）
 export const uploadFiles = (formData: FormData, onUploadProgress?: (progressEvent: any) => void) => {
-  return request.post<ToolFile[]>('/files/uploads', formData, {
+  return request.post<BatchUploadResult>('/files/uploads', formData, {
     headers: {
       'Content-Type': 'multipart/form-data'
     },
@@ -0,0 +1,7 @@
+import { request } from '@/utils/request'
+import type { SearchResult } from '@/types'
+
+// 全文搜索工具、文件和变更日志（按相关度排序）
+export const search = (params: { q: string; type?: 'tool' | 'file' | 'changelog'; limit?: number }) => {
+  return request.get<SearchResult[]>('/search', { params })
+}
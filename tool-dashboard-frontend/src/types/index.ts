@@ -35,6 +35,21 @@ export interface ToolFile {
   downloadUrlByPath?: string        // 通过路径下载（推荐）
 }
 
+// 单个文件上传结果
+export interface FileUploadResult {
+  originalName: string
+  success: boolean
+  message?: string
+  file?: ToolFile
+}
+
+// 批量上传结果
+export interface BatchUploadResult {
+  results: FileUploadResult[]
+  successCount: number
+  failureCount: number
+}
+
 // 变更日志类型
 export interface ChangeLog {
   id?: number
@@ -97,3 +112,22 @@ export interface PageResponse<T = any> {
   current: number
   pages: number
 }
+
+// 搜索结果
+export interface SearchResult {
+  type: 'tool' | 'file' | 'changelog'
+  id: number
+  toolId: number
+  title?: string
+  summary?: string
+  version?: string
+  score: number
+}
+
+// 游标分页响应（total 只在 withTotal=true 时返回）
+export interface CursorPageResponse<T = any> {
+  records: T[]
+  nextCursor: string | null
+  hasMore: boolean
+  total: number | null
+}